@@ -0,0 +1,30 @@
+package ru.practicum.ewm.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+import static ru.practicum.ewm.util.CacheNames.*;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.caffeine-spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec,
+            @Value("${cache.public-events-spec:maximumSize=1000,expireAfterWrite=5s,recordStats}") String publicEventsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setCacheNames(List.of(CATEGORIES, CATEGORY_PAGES, USERS));
+        cacheManager.registerCustomCache(PUBLIC_EVENTS, Caffeine.from(publicEventsSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,15 +1,60 @@
 package ru.practicum.ewm.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ru.practicum.statsclient.CircuitBreaker;
 import ru.practicum.statsclient.StatsClient;
+import ru.practicum.statsclient.StatsClientSettings;
 
 @Configuration
 public class StatsClientConfig {
 
     @Bean
-    public StatsClient statsClient(@Value("${stats.service.url}") String statsServiceUrl) {
-        return new StatsClient(statsServiceUrl);
+    public StatsClientSettings statsClientSettings(
+            @Value("${stats.client.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${stats.client.read-timeout-ms:2000}") long readTimeoutMs,
+            @Value("${stats.client.connection-request-timeout-ms:500}") long connectionRequestTimeoutMs,
+            @Value("${stats.client.max-connections:50}") int maxConnections,
+            @Value("${stats.client.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${stats.client.keep-alive-ms:30000}") long keepAliveMs,
+            @Value("${stats.client.async-threads:4}") int asyncThreads,
+            @Value("${stats.client.failure-threshold:5}") int failureThreshold,
+            @Value("${stats.client.open-duration-ms:10000}") long openDurationMs) {
+        return StatsClientSettings.builder()
+                .connectTimeoutMs(connectTimeoutMs)
+                .readTimeoutMs(readTimeoutMs)
+                .connectionRequestTimeoutMs(connectionRequestTimeoutMs)
+                .maxConnections(maxConnections)
+                .maxConnectionsPerRoute(maxConnectionsPerRoute)
+                .keepAliveMs(keepAliveMs)
+                .asyncThreads(asyncThreads)
+                .failureThreshold(failureThreshold)
+                .openDurationMs(openDurationMs)
+                .build();
+    }
+
+    @Bean
+    public StatsClient statsClient(@Value("${stats.service.url}") String statsServiceUrl,
+                                   StatsClientSettings statsClientSettings) {
+        return new StatsClient(statsServiceUrl, statsClientSettings);
+    }
+
+    @Bean
+    public MeterBinder statsClientMetrics(StatsClient statsClient) {
+        return registry -> {
+            CircuitBreaker breaker = statsClient.getCircuitBreaker();
+            Gauge.builder("ewm.stats.client.breaker.state", breaker, b -> b.getState().ordinal())
+                    .description("0 - closed, 1 - open, 2 - half-open")
+                    .register(registry);
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                FunctionCounter.builder("ewm.stats.client.breaker.transitions", breaker, b -> b.getTransitions(state))
+                        .tag("to", state.name())
+                        .register(registry);
+            }
+        };
     }
 }
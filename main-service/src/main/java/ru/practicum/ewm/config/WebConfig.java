@@ -0,0 +1,23 @@
+package ru.practicum.ewm.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import static ru.practicum.ewm.util.ApiPaths.*;
+
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> publicEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(
+                PUBLIC_CATEGORIES, PUBLIC_CATEGORIES + "/*",
+                PUBLIC_COMPILATIONS, PUBLIC_COMPILATIONS + "/*",
+                PUBLIC_EVENTS + "/*");
+        return registration;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.event.EventFullDto;
@@ -25,7 +26,7 @@ public class AdminEventsController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventFullDto> getEvents(
+    public ResponseEntity<List<EventFullDto>> getEvents(
             @RequestParam(required = false) List<Long> users,
             @RequestParam(required = false) List<String> states,
             @RequestParam(required = false) List<Long> categories,
@@ -33,10 +34,12 @@ public class AdminEventsController {
             @RequestParam(required = false) LocalDateTime rangeStart,
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
             @RequestParam(required = false) LocalDateTime rangeEnd,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(defaultValue = "10") @Positive int size
     ) {
-        return eventService.getAdminEvents(users, states, categories, rangeStart, rangeEnd, from, size);
+        return eventService.getAdminEvents(users, states, categories, rangeStart, rangeEnd, cursor, from, size)
+                .toResponseEntity();
     }
 
     @PatchMapping(EVENT_ID)
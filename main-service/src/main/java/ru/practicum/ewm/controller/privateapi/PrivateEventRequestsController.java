@@ -1,8 +1,14 @@
 package ru.practicum.ewm.controller.privateapi;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.dto.request.ParticipationRequestDto;
@@ -12,6 +18,7 @@ import java.util.List;
 
 import static ru.practicum.ewm.util.ApiPaths.*;
 
+@Validated
 @RestController
 @RequestMapping(PRIVATE_EVENT_REQUESTS)
 @RequiredArgsConstructor
@@ -20,11 +27,25 @@ public class PrivateEventRequestsController {
     private final RequestService requestService;
 
     @GetMapping
-    public List<ParticipationRequestDto> getEventRequests(
+    public ResponseEntity<List<ParticipationRequestDto>> getEventRequests(
             @PathVariable Long userId,
-            @PathVariable Long eventId
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @Positive @Max(1000) Integer size
+    ) {
+        return requestService.getEventRequests(userId, eventId, status, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEventRequests(
+            @PathVariable Long userId,
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String status
     ) {
-        return requestService.getEventRequests(userId, eventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(requestService.exportEventRequests(userId, eventId, status));
     }
 
     @PatchMapping
@@ -1,7 +1,11 @@
 package ru.practicum.ewm.controller.privateapi;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.request.ParticipationRequestDto;
 import ru.practicum.ewm.service.request.RequestService;
@@ -10,6 +14,7 @@ import java.util.List;
 
 import static ru.practicum.ewm.util.ApiPaths.*;
 
+@Validated
 @RestController
 @RequestMapping(PRIVATE_USER_REQUESTS)
 @RequiredArgsConstructor
@@ -18,8 +23,13 @@ public class PrivateUserRequestsController {
     private final RequestService requestService;
 
     @GetMapping
-    public List<ParticipationRequestDto> getUserRequests(@PathVariable Long userId) {
-        return requestService.getUserRequests(userId);
+    public ResponseEntity<List<ParticipationRequestDto>> getUserRequests(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @Positive @Max(1000) Integer size
+    ) {
+        return requestService.getUserRequests(userId, status, cursor, size).toResponseEntity();
     }
 
     @PostMapping
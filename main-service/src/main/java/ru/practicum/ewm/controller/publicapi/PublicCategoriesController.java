@@ -3,11 +3,14 @@ package ru.practicum.ewm.controller.publicapi;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.category.CategoryDto;
 import ru.practicum.ewm.service.category.CategoryService;
 
+import java.time.Duration;
 import java.util.List;
 
 import static ru.practicum.ewm.util.ApiPaths.*;
@@ -18,18 +21,24 @@ import static ru.practicum.ewm.util.ApiPaths.*;
 @RequiredArgsConstructor
 public class PublicCategoriesController {
 
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+
     private final CategoryService categoryService;
 
     @GetMapping
-    public List<CategoryDto> getCategories(
+    public ResponseEntity<List<CategoryDto>> getCategories(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(defaultValue = "10") @Positive int size
     ) {
-        return categoryService.getCategories(from, size);
+        return categoryService.getCategories(cursor, from, size)
+                .toResponseEntity(ResponseEntity.ok().cacheControl(CACHE_CONTROL));
     }
 
     @GetMapping(CAT_ID)
-    public CategoryDto getCategory(@PathVariable Long catId) {
-        return categoryService.getCategoryById(catId);
+    public ResponseEntity<CategoryDto> getCategory(@PathVariable Long catId) {
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .body(categoryService.getCategoryById(catId));
     }
 }
@@ -3,6 +3,8 @@ package ru.practicum.ewm.controller.publicapi;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.compilation.CompilationDto;
@@ -18,19 +20,25 @@ import static ru.practicum.ewm.util.ApiPaths.*;
 @RequiredArgsConstructor
 public class PublicCompilationsController {
 
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
     private final CompilationService compilationService;
 
     @GetMapping
-    public List<CompilationDto> getCompilations(
+    public ResponseEntity<List<CompilationDto>> getCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(defaultValue = "10") @Positive int size
     ) {
-        return compilationService.getCompilations(pinned, from, size);
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .body(compilationService.getCompilations(pinned, from, size));
     }
 
     @GetMapping(COMP_ID)
-    public CompilationDto getCompilation(@PathVariable Long compId) {
-        return compilationService.getCompilationById(compId);
+    public ResponseEntity<CompilationDto> getCompilation(@PathVariable Long compId) {
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .body(compilationService.getCompilationById(compId));
     }
 }
@@ -1,14 +1,17 @@
 package ru.practicum.ewm.mapper;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.ewm.dto.category.CategoryDto;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventShortDto;
 import ru.practicum.ewm.dto.event.LocationDto;
 import ru.practicum.ewm.dto.event.NewEventDto;
+import ru.practicum.ewm.dto.user.UserDto;
 import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.model.Location;
 import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.projection.EventShortProjection;
 
 @Component
 public class EventMapper {
@@ -64,6 +67,22 @@ public class EventMapper {
         );
     }
 
+    public EventShortDto toShortDto(EventShortProjection event, long views) {
+        if (event == null) return null;
+
+        return new EventShortDto(
+                event.getId(),
+                event.getTitle(),
+                event.getAnnotation(),
+                new CategoryDto(event.getCategoryId(), event.getCategoryName()),
+                event.getPaid(),
+                event.getEventDate(),
+                new UserDto(event.getInitiatorId(), event.getInitiatorName(), event.getInitiatorEmail()),
+                event.getConfirmedRequests(),
+                views
+        );
+    }
+
     public EventFullDto toFullDto(Event event, long confirmedRequests, long views) {
         if (event == null) return null;
 
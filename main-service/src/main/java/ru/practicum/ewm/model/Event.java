@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
 import ru.practicum.ewm.model.enums.EventState;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,10 @@ import java.time.LocalDateTime;
 @Setter
 @Entity
 @Table(name = "events")
+@NamedEntityGraph(name = "Event.details", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("initiator")
+})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Event {
 
@@ -46,6 +51,10 @@ public class Event {
     @Column(name = "participant_limit", nullable = false)
     int participantLimit;
 
+    @ColumnDefault("0")
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false)
+    long confirmedRequests;
+
     @Column(name = "request_moderation", nullable = false)
     boolean requestModeration = true;
 
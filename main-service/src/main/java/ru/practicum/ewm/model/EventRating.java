@@ -6,7 +6,7 @@ import lombok.experimental.FieldDefaults;
 import ru.practicum.ewm.model.enums.RatingValue;
 
 @Entity
-@Table(name = "event_ratings", uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}))
+@Table(name = "event_ratings", uniqueConstraints = @UniqueConstraint(name = "uq_event_rating_event_user", columnNames = {"event_id", "user_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,25 @@
+package ru.practicum.ewm.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Table(name = "event_rating_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EventRatingSummary {
+
+    @Id
+    @Column(name = "event_id")
+    Long eventId;
+
+    @Column(nullable = false)
+    long likes;
+
+    @Column(nullable = false)
+    long dislikes;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.ewm.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_views")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EventView {
+
+    @Id
+    @Column(name = "event_id")
+    Long eventId;
+
+    @Column(nullable = false)
+    long views;
+
+    @Column(name = "updated_on", nullable = false)
+    LocalDateTime updatedOn;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.ewm.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SyncWatermark {
+
+    @Id
+    @Column(length = 64)
+    String name;
+
+    @Column(name = "synced_until", nullable = false)
+    LocalDateTime syncedUntil;
+}
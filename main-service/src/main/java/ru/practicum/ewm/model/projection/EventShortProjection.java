@@ -0,0 +1,25 @@
+package ru.practicum.ewm.model.projection;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventShortProjection {
+    Long id;
+    String title;
+    String annotation;
+    Long categoryId;
+    String categoryName;
+    Boolean paid;
+    LocalDateTime eventDate;
+    Long initiatorId;
+    String initiatorName;
+    String initiatorEmail;
+    Long confirmedRequests;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.model.projection;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.ewm.model.enums.EventState;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventStateProjection {
+    EventState state;
+    Long initiatorId;
+}
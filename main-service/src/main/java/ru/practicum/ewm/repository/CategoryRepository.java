@@ -1,14 +1,25 @@
 package ru.practicum.ewm.repository;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.util.CacheNames;
 
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    Slice<Category> findAllBy(Pageable pageable);
+
+    Slice<Category> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, unless = "#result == null")
+    Optional<Category> findCachedById(Long id);
+
     Optional<Category> findByNameIgnoreCase(String name);
 
     @Query("select c from Category c where lower(c.name) = lower(:name)")
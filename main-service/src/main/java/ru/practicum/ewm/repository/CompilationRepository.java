@@ -1,11 +1,25 @@
 package ru.practicum.ewm.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.ewm.model.Compilation;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
-    Page<Compilation> findByPinned(boolean pinned, Pageable pageable);
+    Slice<Compilation> findAllBy(Pageable pageable);
+
+    Slice<Compilation> findByPinned(boolean pinned, Pageable pageable);
+
+    @Query("select distinct c from Compilation c " +
+           "left join fetch c.events e " +
+           "left join fetch e.category " +
+           "left join fetch e.initiator " +
+           "where c.id in :ids")
+    List<Compilation> findAllWithEventsByIdIn(@Param("ids") Collection<Long> ids);
 }
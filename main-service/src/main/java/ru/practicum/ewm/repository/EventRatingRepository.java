@@ -1,6 +1,8 @@
 package ru.practicum.ewm.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.ewm.model.EventRating;
 
 import java.util.List;
@@ -8,9 +10,16 @@ import java.util.Optional;
 
 public interface EventRatingRepository extends JpaRepository<EventRating, Long> {
 
-    Optional<EventRating> findByEventIdAndUserId(Long eventId, Long userId);
+    @Query(value = "insert into event_ratings (event_id, user_id, value) values (:eventId, :userId, :value) " +
+                   "on conflict (event_id, user_id) do update set value = excluded.value " +
+                   "where event_ratings.value <> excluded.value " +
+                   "returning (xmax = 0)",
+           nativeQuery = true)
+    Optional<Boolean> upsert(@Param("eventId") Long eventId, @Param("userId") Long userId, @Param("value") String value);
 
-    long countByEventIdAndValue(Long eventId, ru.practicum.ewm.model.enums.RatingValue value);
+    @Query(value = "delete from event_ratings where event_id = :eventId and user_id = :userId returning value",
+           nativeQuery = true)
+    Optional<String> deleteReturningValue(@Param("eventId") Long eventId, @Param("userId") Long userId);
 
     List<EventRating> findByUserId(Long userId);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.ewm.model.EventRatingSummary;
+
+public interface EventRatingSummaryRepository extends JpaRepository<EventRatingSummary, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into event_rating_summary (event_id, likes, dislikes) " +
+                   "values (:eventId, :likes, :dislikes) " +
+                   "on conflict (event_id) do update set " +
+                   "likes = event_rating_summary.likes + excluded.likes, " +
+                   "dislikes = event_rating_summary.dislikes + excluded.dislikes",
+           nativeQuery = true)
+    void addVotes(@Param("eventId") Long eventId, @Param("likes") long likes, @Param("dislikes") long dislikes);
+}
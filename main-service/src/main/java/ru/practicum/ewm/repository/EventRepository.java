@@ -1,22 +1,73 @@
 package ru.practicum.ewm.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.model.enums.EventState;
+import ru.practicum.ewm.model.projection.EventStateProjection;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventRepositoryCustom {
 
-    Page<Event> findByInitiatorId(Long initiatorId, Pageable pageable);
+    @EntityGraph("Event.details")
+    Slice<Event> findByInitiatorId(Long initiatorId, Pageable pageable);
 
+    @EntityGraph("Event.details")
+    Optional<Event> findWithDetailsById(Long id);
+
+    @EntityGraph("Event.details")
+    List<Event> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    @EntityGraph("Event.details")
     @Query("select e from Event e where e.id = :id and e.state = :state")
     Optional<Event> findByIdAndState(@Param("id") Long id, @Param("state") EventState state);
 
     boolean existsByCategoryId(Long categoryId);
+
+    @Query("select new ru.practicum.ewm.model.projection.EventStateProjection(e.state, e.initiator.id) " +
+           "from Event e where e.id = :id")
+    Optional<EventStateProjection> findStateById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update events set confirmed_requests = confirmed_requests + :delta where id = :eventId",
+           nativeQuery = true)
+    void addConfirmedRequests(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update events set confirmed_requests = confirmed_requests + :count " +
+                   "where id = :eventId " +
+                   "and (participant_limit = 0 or confirmed_requests + :count <= participant_limit)",
+           nativeQuery = true)
+    int tryAddConfirmedRequests(@Param("eventId") Long eventId, @Param("count") long count);
+
+    @Query(value = "select greatest(participant_limit - confirmed_requests, 0) from events where id = :eventId",
+           nativeQuery = true)
+    long countFreeSlots(@Param("eventId") Long eventId);
+
+    @Query(value = "select id from events where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Query(value = "select id from events where id > :afterId order by id limit :limit for update",
+           nativeQuery = true)
+    List<Long> lockIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "update events e set confirmed_requests = c.cnt " +
+                   "from (select ev.id, count(r.id) as cnt from events ev " +
+                   "left join participation_requests r on r.event_id = ev.id and r.status = 'CONFIRMED' " +
+                   "where ev.id in (:ids) " +
+                   "group by ev.id) c " +
+                   "where e.id = c.id and e.confirmed_requests <> c.cnt",
+           nativeQuery = true)
+    int reconcileConfirmedRequests(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.projection.EventShortProjection;
+
+public interface EventRepositoryCustom {
+
+    Slice<Event> findSlice(Specification<Event> spec, Pageable pageable);
+
+    Slice<EventShortProjection> findShortSlice(Specification<Event> spec, Pageable pageable);
+}
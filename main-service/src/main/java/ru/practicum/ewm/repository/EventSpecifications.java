@@ -1,8 +1,13 @@
 package ru.practicum.ewm.repository;
 
 import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.EventRatingSummary;
+import ru.practicum.ewm.model.EventView;
 import ru.practicum.ewm.model.enums.EventState;
 
 import java.time.LocalDateTime;
@@ -34,6 +39,17 @@ public class EventSpecifications {
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("eventDate"), end);
     }
 
+    public static Specification<Event> idAfter(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Event> eventDateAndIdAfter(LocalDateTime eventDate, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("eventDate"), eventDate),
+                cb.and(cb.equal(root.get("eventDate"), eventDate), cb.greaterThan(root.get("id"), id))
+        );
+    }
+
     public static Specification<Event> textLike(String text) {
         return (root, query, cb) -> {
             String like = "%" + text.toLowerCase() + "%";
@@ -43,7 +59,56 @@ public class EventSpecifications {
         };
     }
 
+    public static Specification<Event> orderByRelevance(String text) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                Expression<String> document = cb.concat(
+                        cb.concat(cb.concat(root.get("title"), " "), cb.concat(root.get("annotation"), " ")),
+                        root.get("description")
+                );
+                Expression<Float> rank = cb.function("ts_rank", Float.class,
+                        cb.function("to_tsvector", String.class, document),
+                        cb.function("plainto_tsquery", String.class, cb.literal(text)));
+                query.orderBy(cb.desc(rank), cb.asc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Specification<Event> orderByViews() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                JpaEntityJoin<EventView> views = ((JpaRoot<Event>) root).join(EventView.class, SqmJoinType.LEFT);
+                views.on(cb.equal(views.get("eventId"), root.get("id")));
+                query.orderBy(cb.desc(cb.coalesce(views.<Long>get("views"), 0L)), cb.asc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Specification<Event> orderByRating() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                JpaEntityJoin<EventRatingSummary> summary = ((JpaRoot<Event>) root)
+                        .join(EventRatingSummary.class, SqmJoinType.LEFT);
+                summary.on(cb.equal(summary.get("eventId"), root.get("id")));
+                Expression<Long> score = cb.diff(summary.<Long>get("likes"), summary.<Long>get("dislikes"));
+                query.orderBy(cb.desc(cb.coalesce(score, 0L)), cb.asc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
     public static Specification<Event> paidIs(Boolean paid) {
         return (root, query, cb) -> cb.equal(root.get("paid"), paid);
     }
+
+    public static Specification<Event> hasFreeSlots() {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("participantLimit"), 0),
+                cb.lt(root.get("confirmedRequests"), root.<Integer>get("participantLimit"))
+        );
+    }
 }
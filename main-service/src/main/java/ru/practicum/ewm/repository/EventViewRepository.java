@@ -0,0 +1,22 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.EventView;
+
+import java.time.LocalDateTime;
+
+public interface EventViewRepository extends JpaRepository<EventView, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into event_views (event_id, views, updated_on) " +
+                   "select :eventId, :views, :updatedOn where exists (select 1 from events where id = :eventId) " +
+                   "on conflict (event_id) do update set views = excluded.views, updated_on = excluded.updated_on " +
+                   "where event_views.views <> excluded.views",
+           nativeQuery = true)
+    int upsert(@Param("eventId") Long eventId, @Param("views") long views, @Param("updatedOn") LocalDateTime updatedOn);
+}
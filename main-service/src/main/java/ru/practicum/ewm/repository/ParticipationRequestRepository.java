@@ -1,30 +1,79 @@
 package ru.practicum.ewm.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.ewm.dto.request.ParticipationRequestDto;
 import ru.practicum.ewm.model.ParticipationRequest;
 import ru.practicum.ewm.model.enums.RequestStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ParticipationRequestRepository extends JpaRepository<ParticipationRequest, Long> {
 
-    List<ParticipationRequest> findByRequesterId(Long requesterId);
-
-    List<ParticipationRequest> findByEventId(Long eventId);
+    String SELECT_DTO = "select new ru.practicum.ewm.dto.request.ParticipationRequestDto(" +
+                        "r.id, r.event.id, r.requester.id, r.status, r.created) " +
+                        "from ParticipationRequest r ";
 
     Optional<ParticipationRequest> findByEventIdAndRequesterId(Long eventId, Long requesterId);
 
-    long countByEventIdAndStatus(Long eventId, RequestStatus status);
+    Optional<ParticipationRequest> findByIdAndRequesterId(Long id, Long requesterId);
 
-    @Query("select r.event.id, count(r) from ParticipationRequest r " +
-           "where r.event.id in :eventIds and r.status = :status group by r.event.id")
-    List<Object[]> countByEventIdsAndStatusGrouped(
-            @Param("eventIds") List<Long> eventIds,
-            @Param("status") RequestStatus status
-    );
+    @Query(SELECT_DTO +
+           "where r.requester.id = :requesterId and (:status is null or r.status = :status) and r.id > :afterId " +
+           "order by r.id")
+    Slice<ParticipationRequestDto> findRequesterPage(@Param("requesterId") Long requesterId,
+                                                     @Param("status") RequestStatus status,
+                                                     @Param("afterId") long afterId,
+                                                     Pageable pageable);
 
-    Optional<ParticipationRequest> findByIdAndRequesterId(Long id, Long requesterId);
+    @Query(SELECT_DTO +
+           "where r.event.id = :eventId and (:status is null or r.status = :status) and r.id > :afterId " +
+           "order by r.id")
+    Slice<ParticipationRequestDto> findEventPage(@Param("eventId") Long eventId,
+                                                 @Param("status") RequestStatus status,
+                                                 @Param("afterId") long afterId,
+                                                 Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO +
+           "where r.event.id = :eventId and (:status is null or r.status = :status) " +
+           "order by r.id")
+    Stream<ParticipationRequestDto> streamByEvent(@Param("eventId") Long eventId,
+                                                  @Param("status") RequestStatus status);
+
+    @Query("select r.event.id from ParticipationRequest r where r.id = :id and r.requester.id = :requesterId")
+    Optional<Long> findEventIdByIdAndRequesterId(@Param("id") Long id, @Param("requesterId") Long requesterId);
+
+    @Query(value = "update participation_requests r set status = 'CANCELED' " +
+                   "from (select id, status from participation_requests " +
+                   "where id = :id and requester_id = :requesterId for update) old " +
+                   "where r.id = old.id and old.status <> 'CANCELED' " +
+                   "returning old.status",
+           nativeQuery = true)
+    Optional<String> cancel(@Param("id") Long id, @Param("requesterId") Long requesterId);
+
+    long countByEventIdAndStatusAndIdIn(Long eventId, RequestStatus status, Collection<Long> ids);
+
+    @Query(value = "update participation_requests set status = :status " +
+                   "where event_id = :eventId and status = 'PENDING' and id in (:ids) " +
+                   "returning *",
+           nativeQuery = true)
+    List<ParticipationRequest> updatePendingStatus(@Param("eventId") Long eventId,
+                                                   @Param("ids") Collection<Long> ids,
+                                                   @Param("status") String status);
+
+    @Query(value = "update participation_requests set status = 'REJECTED' " +
+                   "where event_id = :eventId and status = 'PENDING' " +
+                   "returning *",
+           nativeQuery = true)
+    List<ParticipationRequest> rejectPending(@Param("eventId") Long eventId);
 }
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.ewm.model.SyncWatermark;
+
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, String> {
+}
@@ -1,15 +1,27 @@
 package ru.practicum.ewm.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.util.CacheNames;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Page<User> findByIdIn(List<Long> ids, Pageable pageable);
+    @Cacheable(cacheNames = CacheNames.USERS, unless = "#result == null")
+    Optional<User> findCachedById(Long id);
+
+    Slice<User> findAllBy(Pageable pageable);
+
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    Slice<User> findByIdIn(List<Long> ids, Pageable pageable);
+
+    Slice<User> findByIdInAndIdGreaterThan(List<Long> ids, Long id, Pageable pageable);
 
     boolean existsByEmailIgnoreCase(String email);
 }
@@ -0,0 +1,69 @@
+package ru.practicum.ewm.service.cache;
+
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.dto.event.EventShortDto;
+import ru.practicum.ewm.util.CursorPage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static ru.practicum.ewm.util.CacheNames.PUBLIC_EVENTS;
+
+@Component
+public class PublicEventsCache {
+
+    private final Cache cache;
+
+    public PublicEventsCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(PUBLIC_EVENTS));
+    }
+
+    public CursorPage<EventShortDto> get(Key key, Supplier<CursorPage<EventShortDto>> loader) {
+        try {
+            return cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate() {
+        cache.clear();
+    }
+
+    public static Key key(String text, List<Long> categories, Boolean paid,
+                          LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                          boolean onlyAvailable, String sort, String cursor, int from, int size) {
+        String normalizedText = text == null || text.isBlank() ? null : text.trim().toLowerCase(Locale.ROOT);
+        List<Long> normalizedCategories = categories == null ? List.of() : categories.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        String normalizedSort = sort == null ? null : sort.toUpperCase(Locale.ROOT);
+        return new Key(normalizedText, normalizedCategories, paid, rangeStart, rangeEnd, onlyAvailable,
+                normalizedSort, cursor, from, size);
+    }
+
+    @Value
+    public static class Key {
+        String text;
+        List<Long> categories;
+        Boolean paid;
+        LocalDateTime rangeStart;
+        LocalDateTime rangeEnd;
+        boolean onlyAvailable;
+        String sort;
+        String cursor;
+        int from;
+        int size;
+    }
+}
@@ -2,11 +2,10 @@ package ru.practicum.ewm.service.category;
 
 import ru.practicum.ewm.dto.category.CategoryDto;
 import ru.practicum.ewm.dto.category.NewCategoryDto;
-
-import java.util.List;
+import ru.practicum.ewm.util.CursorPage;
 
 public interface CategoryService {
-    List<CategoryDto> getCategories(int from, int size);
+    CursorPage<CategoryDto> getCategories(String cursor, int from, int size);
 
     CategoryDto getCategoryById(Long catId);
 
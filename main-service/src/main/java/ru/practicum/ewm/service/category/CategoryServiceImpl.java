@@ -1,6 +1,12 @@
 package ru.practicum.ewm.service.category;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.category.CategoryDto;
@@ -12,35 +18,46 @@ import ru.practicum.ewm.mapper.CategoryMapper;
 import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.repository.CategoryRepository;
 import ru.practicum.ewm.repository.EventRepository;
+import ru.practicum.ewm.util.CursorPage;
+import ru.practicum.ewm.util.PageCursor;
 import ru.practicum.ewm.util.PageRequestFactory;
 
-import java.util.List;
+import static ru.practicum.ewm.util.CacheNames.*;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
     private final CategoryMapper categoryMapper;
 
     @Override
-    public List<CategoryDto> getCategories(int from, int size) {
-        return categoryRepository.findAll(PageRequestFactory.from(from, size))
-                .map(categoryMapper::toDto)
-                .getContent();
+    @Cacheable(cacheNames = CATEGORY_PAGES, key = "#cursor + ':' + #from + ':' + #size")
+    public CursorPage<CategoryDto> getCategories(String cursor, int from, int size) {
+        Slice<Category> categories = cursor != null
+                ? categoryRepository.findByIdGreaterThan(PageCursor.decode(cursor).getId(), PageRequest.of(0, size, BY_ID))
+                : categoryRepository.findAllBy(PageRequestFactory.from(from, size, BY_ID));
+
+        String nextCursor = categories.hasNext()
+                ? PageCursor.of(categories.getContent().get(categories.getNumberOfElements() - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(categories.map(categoryMapper::toDto).getContent(), nextCursor);
     }
 
     @Override
     public CategoryDto getCategoryById(Long catId) {
-        Category category = categoryRepository.findById(catId)
+        Category category = categoryRepository.findCachedById(catId)
                 .orElseThrow(() -> new NotFoundException("Category not found: " + catId));
         return categoryMapper.toDto(category);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true)
     public CategoryDto createCategory(NewCategoryDto dto) {
         if (dto.getName() == null || dto.getName().trim().isEmpty()) {
             throw new BadRequestException("Category name must not be empty");
@@ -57,6 +74,10 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CATEGORIES, key = "#catId"),
+            @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true)
+    })
     public CategoryDto updateCategory(Long catId, NewCategoryDto dto) {
         if (dto.getName() == null || dto.getName().trim().isEmpty()) {
             throw new BadRequestException("Category name must not be empty");
@@ -72,11 +93,16 @@ public class CategoryServiceImpl implements CategoryService {
                 });
 
         category.setName(dto.getName());
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category saved = categoryRepository.save(category);
+        return categoryMapper.toDto(saved);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CATEGORIES, key = "#catId"),
+            @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true)
+    })
     public void deleteCategory(Long catId) {
         if (!categoryRepository.existsById(catId)) {
             throw new NotFoundException("Category not found: " + catId);
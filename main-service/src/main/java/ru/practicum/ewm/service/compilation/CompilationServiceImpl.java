@@ -1,6 +1,7 @@
 package ru.practicum.ewm.service.compilation;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.compilation.CompilationDto;
@@ -13,14 +14,11 @@ import ru.practicum.ewm.mapper.CompilationMapper;
 import ru.practicum.ewm.mapper.EventMapper;
 import ru.practicum.ewm.model.Compilation;
 import ru.practicum.ewm.model.Event;
-import ru.practicum.ewm.model.enums.RequestStatus;
 import ru.practicum.ewm.repository.CompilationRepository;
 import ru.practicum.ewm.repository.EventRepository;
-import ru.practicum.ewm.repository.ParticipationRequestRepository;
 import ru.practicum.ewm.service.stats.StatsFacade;
 import ru.practicum.ewm.util.PageRequestFactory;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,36 +28,49 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class CompilationServiceImpl implements CompilationService {
 
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
-    private final ParticipationRequestRepository requestRepository;
-    private final StatsFacade statsFacade;
     private final CompilationMapper compilationMapper;
     private final EventMapper eventMapper;
+    private final StatsFacade statsFacade;
 
     @Override
     public List<CompilationDto> getCompilations(Boolean pinned, int from, int size) {
         List<Compilation> comps;
         if (pinned == null) {
-            comps = compilationRepository.findAll(PageRequestFactory.from(from, size)).getContent();
+            comps = compilationRepository.findAllBy(PageRequestFactory.from(from, size, BY_ID)).getContent();
         } else {
-            comps = compilationRepository.findByPinned(pinned, PageRequestFactory.from(from, size)).getContent();
+            comps = compilationRepository.findByPinned(pinned, PageRequestFactory.from(from, size, BY_ID)).getContent();
         }
 
         if (comps.isEmpty()) {
             return List.of();
         }
 
-        return comps.stream()
-                .map(this::toDtoWithEvents)
-                .collect(Collectors.toList());
+        List<Long> ids = comps.stream().map(Compilation::getId).toList();
+        Map<Long, Compilation> withEvents = compilationRepository.findAllWithEventsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Compilation::getId, c -> c));
+        Map<Long, Long> views = statsFacade.getViewsByEventIds(withEvents.values().stream()
+                .flatMap(c -> c.getEvents().stream())
+                .map(Event::getId)
+                .distinct()
+                .toList());
+
+        return ids.stream()
+                .map(withEvents::get)
+                .map(c -> toDtoWithEvents(c, views))
+                .toList();
     }
 
     @Override
     public CompilationDto getCompilationById(Long compId) {
-        Compilation comp = compilationRepository.findById(compId)
-                .orElseThrow(() -> new NotFoundException("Compilation not found: " + compId));
-        return toDtoWithEvents(comp);
+        List<Compilation> comps = compilationRepository.findAllWithEventsByIdIn(List.of(compId));
+        if (comps.isEmpty()) {
+            throw new NotFoundException("Compilation not found: " + compId);
+        }
+        return toDtoWithEvents(comps.get(0));
     }
 
     @Override
@@ -74,7 +85,7 @@ public class CompilationServiceImpl implements CompilationService {
         comp.setPinned(Boolean.TRUE.equals(dto.getPinned()));
 
         if (dto.getEvents() != null && !dto.getEvents().isEmpty()) {
-            List<Event> events = eventRepository.findAllById(dto.getEvents());
+            List<Event> events = eventRepository.findAllWithDetailsByIdIn(dto.getEvents());
             comp.getEvents().clear();
             comp.getEvents().addAll(events);
         }
@@ -96,7 +107,7 @@ public class CompilationServiceImpl implements CompilationService {
             comp.setPinned(dto.getPinned());
         }
         if (dto.getEvents() != null) {
-            List<Event> events = dto.getEvents().isEmpty() ? List.of() : eventRepository.findAllById(dto.getEvents());
+            List<Event> events = dto.getEvents().isEmpty() ? List.of() : eventRepository.findAllWithDetailsByIdIn(dto.getEvents());
             comp.getEvents().clear();
             comp.getEvents().addAll(events);
         }
@@ -115,21 +126,13 @@ public class CompilationServiceImpl implements CompilationService {
     }
 
     private CompilationDto toDtoWithEvents(Compilation comp) {
-        if (comp.getEvents() == null || comp.getEvents().isEmpty()) {
-            return compilationMapper.toDto(comp, Collections.emptyList());
-        }
-
-        List<Long> ids = comp.getEvents().stream().map(Event::getId).toList();
-        Map<Long, Long> views = statsFacade.getViewsByEventIds(ids);
+        return toDtoWithEvents(comp, statsFacade.getViewsByEventIds(comp.getEvents().stream().map(Event::getId).toList()));
+    }
 
+    private CompilationDto toDtoWithEvents(Compilation comp, Map<Long, Long> views) {
         List<EventShortDto> events = comp.getEvents().stream()
-                .map(e -> {
-                    long confirmed = requestRepository.countByEventIdAndStatus(e.getId(), RequestStatus.CONFIRMED);
-                    long v = views.getOrDefault(e.getId(), 0L);
-                    return eventMapper.toShortDto(e, confirmed, v);
-                })
+                .map(e -> eventMapper.toShortDto(e, e.getConfirmedRequests(), views.getOrDefault(e.getId(), 0L)))
                 .toList();
-
         return compilationMapper.toDto(comp, events);
     }
 }
@@ -0,0 +1,52 @@
+package ru.practicum.ewm.service.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.repository.EventRepository;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConfirmedRequestsReconciler {
+
+    private final EventRepository eventRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${events.confirmed-requests.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${events.confirmed-requests.reconcile-interval-ms}")
+    public void reconcile() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long afterId = 0;
+        int repaired = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transaction.execute(tx -> {
+                List<Long> ids = eventRepository.lockIdsAfter(from, batchSize);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                return new Batch(ids.get(ids.size() - 1), eventRepository.reconcileConfirmedRequests(ids));
+            });
+            if (batch == null) {
+                break;
+            }
+            afterId = batch.lastId();
+            repaired += batch.repaired();
+        }
+        if (repaired > 0) {
+            log.warn("Repaired confirmed_requests drift on {} events", repaired);
+        }
+    }
+
+    private record Batch(long lastId, int repaired) {
+    }
+}
@@ -2,21 +2,23 @@ package ru.practicum.ewm.service.event;
 
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.ewm.dto.event.*;
+import ru.practicum.ewm.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EventService {
-    List<EventShortDto> getPublicEvents(String text,
-                                        List<Long> categories,
-                                        Boolean paid,
-                                        LocalDateTime rangeStart,
-                                        LocalDateTime rangeEnd,
-                                        boolean onlyAvailable,
-                                        String sort,
-                                        int from,
-                                        int size,
-                                        HttpServletRequest request);
+    CursorPage<EventShortDto> getPublicEvents(String text,
+                                              List<Long> categories,
+                                              Boolean paid,
+                                              LocalDateTime rangeStart,
+                                              LocalDateTime rangeEnd,
+                                              boolean onlyAvailable,
+                                              String sort,
+                                              String cursor,
+                                              int from,
+                                              int size,
+                                              HttpServletRequest request);
 
     EventFullDto getPublicEventById(Long eventId, HttpServletRequest request);
 
@@ -28,13 +30,14 @@ public interface EventService {
 
     EventFullDto updateUserEvent(Long userId, Long eventId, UpdateEventUserRequest dto);
 
-    List<EventFullDto> getAdminEvents(List<Long> users,
-                                      List<String> states,
-                                      List<Long> categories,
-                                      LocalDateTime rangeStart,
-                                      LocalDateTime rangeEnd,
-                                      int from,
-                                      int size);
+    CursorPage<EventFullDto> getAdminEvents(List<Long> users,
+                                            List<String> states,
+                                            List<Long> categories,
+                                            LocalDateTime rangeStart,
+                                            LocalDateTime rangeEnd,
+                                            String cursor,
+                                            int from,
+                                            int size);
 
     EventFullDto updateAdminEvent(Long eventId, UpdateEventAdminRequest dto);
 }
@@ -2,6 +2,9 @@ package ru.practicum.ewm.service.event;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,9 +19,12 @@ import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.model.enums.EventState;
 import ru.practicum.ewm.model.enums.EventStateActionAdmin;
 import ru.practicum.ewm.model.enums.EventStateActionUser;
-import ru.practicum.ewm.model.enums.RequestStatus;
+import ru.practicum.ewm.model.projection.EventShortProjection;
 import ru.practicum.ewm.repository.*;
+import ru.practicum.ewm.service.cache.PublicEventsCache;
 import ru.practicum.ewm.service.stats.StatsFacade;
+import ru.practicum.ewm.util.CursorPage;
+import ru.practicum.ewm.util.PageCursor;
 import ru.practicum.ewm.util.PageRequestFactory;
 
 import java.time.LocalDateTime;
@@ -34,15 +40,15 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final ParticipationRequestRepository requestRepository;
     private final StatsFacade statsFacade;
     private final EventMapper eventMapper;
+    private final PublicEventsCache publicEventsCache;
 
     @Override
-    public List<EventShortDto> getPublicEvents(String text, List<Long> categories, Boolean paid,
-                                               LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                               boolean onlyAvailable, String sort,
-                                               int from, int size, HttpServletRequest request) {
+    public CursorPage<EventShortDto> getPublicEvents(String text, List<Long> categories, Boolean paid,
+                                                     LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                     boolean onlyAvailable, String sort, String cursor,
+                                                     int from, int size, HttpServletRequest request) {
 
         statsFacade.hit(request);
 
@@ -50,6 +56,16 @@ public class EventServiceImpl implements EventService {
             throw new BadRequestException("rangeEnd must not be before rangeStart");
         }
 
+        PublicEventsCache.Key key = PublicEventsCache.key(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, cursor, from, size);
+        return publicEventsCache.get(key, () -> findPublicEvents(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, cursor, from, size));
+    }
+
+    private CursorPage<EventShortDto> findPublicEvents(String text, List<Long> categories, Boolean paid,
+                                                       LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                       boolean onlyAvailable, String sort, String cursor,
+                                                       int from, int size) {
         LocalDateTime start = rangeStart == null ? LocalDateTime.now() : rangeStart;
 
         var spec = where(EventSpecifications.hasState(EventState.PUBLISHED))
@@ -67,53 +83,50 @@ public class EventServiceImpl implements EventService {
         if (paid != null) {
             spec = spec.and(EventSpecifications.paidIs(paid));
         }
-
-        List<Event> events;
-        boolean sortByViews = sort != null && sort.equalsIgnoreCase("VIEWS");
-
-        if (sortByViews) {
-            events = eventRepository.findAll(spec);
+        if (onlyAvailable) {
+            spec = spec.and(EventSpecifications.hasFreeSlots());
+        }
+
+        Sort order;
+        boolean byEventDate = false;
+        if ("VIEWS".equalsIgnoreCase(sort)) {
+            spec = spec.and(EventSpecifications.orderByViews());
+            order = Sort.unsorted();
+        } else if ("RATING".equalsIgnoreCase(sort)) {
+            spec = spec.and(EventSpecifications.orderByRating());
+            order = Sort.unsorted();
+        } else if ("RELEVANCE".equalsIgnoreCase(sort) && text != null && !text.isBlank()) {
+            spec = spec.and(EventSpecifications.orderByRelevance(text));
+            order = Sort.unsorted();
         } else {
-            events = eventRepository.findAll(spec, PageRequestFactory.from(from, size, Sort.by(Sort.Direction.ASC, "eventDate"))).getContent();
+            order = Sort.by(Sort.Direction.ASC, "eventDate").and(Sort.by(Sort.Direction.ASC, "id"));
+            byEventDate = true;
         }
 
-        if (events.isEmpty()) {
-            return List.of();
+        Pageable pageable = PageRequestFactory.from(from, size, order);
+        if (cursor != null) {
+            PageCursor after = PageCursor.decode(cursor);
+            if (!byEventDate || after.getEventDate() == null) {
+                throw new BadRequestException("cursor is only supported for events sorted by EVENT_DATE");
+            }
+            spec = spec.and(EventSpecifications.eventDateAndIdAfter(after.getEventDate(), after.getId()));
+            pageable = PageRequest.of(0, size, order);
         }
 
-        List<Long> ids = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmed = getConfirmedByEventIds(ids);
-        Map<Long, Long> views = statsFacade.getViewsByEventIds(ids);
+        Slice<EventShortProjection> events = eventRepository.findShortSlice(spec, pageable);
 
-        List<Event> filtered = events;
-        if (onlyAvailable) {
-            filtered = events.stream()
-                    .filter(e -> {
-                        int limit = e.getParticipantLimit();
-                        long c = confirmed.getOrDefault(e.getId(), 0L);
-                        return limit == 0 || c < limit;
-                    })
-                    .toList();
-        }
-
-        List<Event> ordered;
-        if (sortByViews) {
-            ordered = new ArrayList<>(filtered);
-            ordered.sort(Comparator.comparingLong((Event e) -> views.getOrDefault(e.getId(), 0L)).reversed());
-            int startIdx = Math.min(from, ordered.size());
-            int endIdx = Math.min(from + size, ordered.size());
-            ordered = ordered.subList(startIdx, endIdx);
-        } else {
-            ordered = filtered;
-        }
-
-        return ordered.stream()
-                .map(e -> eventMapper.toShortDto(
-                        e,
-                        confirmed.getOrDefault(e.getId(), 0L),
-                        views.getOrDefault(e.getId(), 0L)
-                ))
+        Map<Long, Long> views = statsFacade.getViewsByEventIds(
+                events.getContent().stream().map(EventShortProjection::getId).toList());
+        List<EventShortDto> items = events.getContent().stream()
+                .map(e -> eventMapper.toShortDto(e, views.getOrDefault(e.getId(), 0L)))
                 .toList();
+
+        String nextCursor = null;
+        if (byEventDate && events.hasNext()) {
+            EventShortProjection last = events.getContent().get(events.getNumberOfElements() - 1);
+            nextCursor = PageCursor.of(last.getEventDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
     }
 
     @Override
@@ -123,29 +136,24 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findByIdAndState(eventId, EventState.PUBLISHED)
                 .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
 
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        long views = statsFacade.getViewsByEventId(eventId);
-
-        return eventMapper.toFullDto(event, confirmed, views);
+        return eventMapper.toFullDto(event, event.getConfirmedRequests(), statsFacade.getViewsByEventId(eventId));
     }
 
     @Override
     public List<EventFullDto> getUserEvents(Long userId, int from, int size) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        userRepository.findCachedById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-        List<Event> events = eventRepository.findByInitiatorId(userId, PageRequestFactory.from(from, size)).getContent();
+        List<Event> events = eventRepository.findByInitiatorId(userId,
+                PageRequestFactory.from(from, size, Sort.by(Sort.Direction.ASC, "id"))).getContent();
         if (events.isEmpty()) {
             return List.of();
         }
 
-        List<Long> ids = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmed = getConfirmedByEventIds(ids);
-        Map<Long, Long> views = statsFacade.getViewsByEventIds(ids);
-
+        Map<Long, Long> views = statsFacade.getViewsByEventIds(events.stream().map(Event::getId).toList());
         return events.stream()
                 .map(e -> eventMapper.toFullDto(
                         e,
-                        confirmed.getOrDefault(e.getId(), 0L),
+                        e.getConfirmedRequests(),
                         views.getOrDefault(e.getId(), 0L)
                 ))
                 .toList();
@@ -153,26 +161,23 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public EventFullDto getUserEventById(Long userId, Long eventId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        userRepository.findCachedById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
 
         if (event.getInitiator() == null || event.getInitiator().getId() == null || !event.getInitiator().getId().equals(userId)) {
             throw new NotFoundException("Event not found: " + eventId);
         }
 
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        long views = statsFacade.getViewsByEventId(eventId);
-
-        return eventMapper.toFullDto(event, confirmed, views);
+        return eventMapper.toFullDto(event, event.getConfirmedRequests(), statsFacade.getViewsByEventId(eventId));
     }
 
     @Override
     @Transactional
     public EventFullDto createEvent(Long userId, NewEventDto dto) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
-        Category category = categoryRepository.findById(dto.getCategory())
+        User user = userRepository.findCachedById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        Category category = categoryRepository.findCachedById(dto.getCategory())
                 .orElseThrow(() -> new NotFoundException("Category not found: " + dto.getCategory()));
 
         validateEventDateForUser(dto.getEventDate());
@@ -189,9 +194,9 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventFullDto updateUserEvent(Long userId, Long eventId, UpdateEventUserRequest dto) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        userRepository.findCachedById(userId).orElseThrow(() -> new NotFoundException("User not found: " + userId));
 
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
 
         if (event.getInitiator() == null || event.getInitiator().getId() == null || !event.getInitiator().getId().equals(userId)) {
@@ -235,7 +240,7 @@ public class EventServiceImpl implements EventService {
             event.setRequestModeration(dto.getRequestModeration());
         }
         if (dto.getCategory() != null) {
-            Category category = categoryRepository.findById(dto.getCategory())
+            Category category = categoryRepository.findCachedById(dto.getCategory())
                     .orElseThrow(() -> new NotFoundException("Category not found: " + dto.getCategory()));
             event.setCategory(category);
         }
@@ -250,16 +255,13 @@ public class EventServiceImpl implements EventService {
 
         Event saved = eventRepository.save(event);
 
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        long views = statsFacade.getViewsByEventId(eventId);
-
-        return eventMapper.toFullDto(saved, confirmed, views);
+        return eventMapper.toFullDto(saved, saved.getConfirmedRequests(), statsFacade.getViewsByEventId(eventId));
     }
 
     @Override
-    public List<EventFullDto> getAdminEvents(List<Long> users, List<String> states, List<Long> categories,
-                                             LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                             int from, int size) {
+    public CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<String> states, List<Long> categories,
+                                                   LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                   String cursor, int from, int size) {
 
         if (rangeStart != null && rangeEnd != null && rangeEnd.isBefore(rangeStart)) {
             throw new BadRequestException("rangeEnd must not be before rangeStart");
@@ -284,28 +286,34 @@ public class EventServiceImpl implements EventService {
             spec = spec.and(EventSpecifications.dateBefore(rangeEnd));
         }
 
-        List<Event> events = eventRepository.findAll(spec, PageRequestFactory.from(from, size)).getContent();
-        if (events.isEmpty()) {
-            return List.of();
+        Sort order = Sort.by(Sort.Direction.ASC, "id");
+        Pageable pageable = PageRequestFactory.from(from, size, order);
+        if (cursor != null) {
+            spec = spec.and(EventSpecifications.idAfter(PageCursor.decode(cursor).getId()));
+            pageable = PageRequest.of(0, size, order);
         }
 
-        List<Long> ids = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmed = getConfirmedByEventIds(ids);
-        Map<Long, Long> views = statsFacade.getViewsByEventIds(ids);
+        Slice<Event> events = eventRepository.findSlice(spec, pageable);
 
-        return events.stream()
+        Map<Long, Long> views = statsFacade.getViewsByEventIds(events.getContent().stream().map(Event::getId).toList());
+        List<EventFullDto> items = events.getContent().stream()
                 .map(e -> eventMapper.toFullDto(
                         e,
-                        confirmed.getOrDefault(e.getId(), 0L),
+                        e.getConfirmedRequests(),
                         views.getOrDefault(e.getId(), 0L)
                 ))
                 .toList();
+
+        String nextCursor = events.hasNext()
+                ? PageCursor.of(events.getContent().get(events.getNumberOfElements() - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(items, nextCursor);
     }
 
     @Override
     @Transactional
     public EventFullDto updateAdminEvent(Long eventId, UpdateEventAdminRequest dto) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
 
         if (event.getState() == EventState.PUBLISHED) {
@@ -343,7 +351,7 @@ public class EventServiceImpl implements EventService {
             event.setRequestModeration(dto.getRequestModeration());
         }
         if (dto.getCategory() != null) {
-            Category category = categoryRepository.findById(dto.getCategory())
+            Category category = categoryRepository.findCachedById(dto.getCategory())
                     .orElseThrow(() -> new NotFoundException("Category not found: " + dto.getCategory()));
             event.setCategory(category);
         }
@@ -369,11 +377,11 @@ public class EventServiceImpl implements EventService {
         }
 
         Event saved = eventRepository.save(event);
+        if (dto.getStateAction() != null) {
+            publicEventsCache.invalidate();
+        }
 
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        long views = statsFacade.getViewsByEventId(eventId);
-
-        return eventMapper.toFullDto(saved, confirmed, views);
+        return eventMapper.toFullDto(saved, saved.getConfirmedRequests(), statsFacade.getViewsByEventId(eventId));
     }
 
     private void validateEventDateForUser(LocalDateTime dateTime) {
@@ -408,21 +416,4 @@ public class EventServiceImpl implements EventService {
             throw new BadRequestException("Unknown state: " + value);
         }
     }
-
-    private Map<Long, Long> getConfirmedByEventIds(List<Long> eventIds) {
-        if (eventIds == null || eventIds.isEmpty()) {
-            return Collections.emptyMap();
-        }
-        Map<Long, Long> result = new HashMap<>();
-        for (Long id : eventIds) {
-            result.put(id, 0L);
-        }
-        List<Object[]> rows = requestRepository.countByEventIdsAndStatusGrouped(eventIds, RequestStatus.CONFIRMED);
-        for (Object[] row : rows) {
-            Long id = (Long) row[0];
-            Long cnt = (Long) row[1];
-            result.put(id, cnt);
-        }
-        return result;
-    }
 }
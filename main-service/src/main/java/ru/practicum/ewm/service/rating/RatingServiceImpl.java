@@ -7,11 +7,11 @@ import ru.practicum.ewm.dto.rating.EventRatingSummaryDto;
 import ru.practicum.ewm.dto.rating.RatingRequestDto;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.NotFoundException;
-import ru.practicum.ewm.model.Event;
-import ru.practicum.ewm.model.EventRating;
 import ru.practicum.ewm.model.enums.EventState;
 import ru.practicum.ewm.model.enums.RatingValue;
+import ru.practicum.ewm.model.projection.EventStateProjection;
 import ru.practicum.ewm.repository.EventRatingRepository;
+import ru.practicum.ewm.repository.EventRatingSummaryRepository;
 import ru.practicum.ewm.repository.EventRepository;
 import ru.practicum.ewm.repository.UserRepository;
 
@@ -21,47 +21,56 @@ import ru.practicum.ewm.repository.UserRepository;
 public class RatingServiceImpl implements RatingService {
 
     private final EventRatingRepository ratingRepository;
+    private final EventRatingSummaryRepository summaryRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
 
     @Override
     public void rateEvent(Long userId, Long eventId, RatingRequestDto dto) {
-        var user = userRepository.findById(userId)
+        userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found: id=" + userId));
 
-        Event event = eventRepository.findById(eventId)
+        EventStateProjection event = eventRepository.findStateById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found: id=" + eventId));
 
         if (event.getState() != EventState.PUBLISHED) {
             throw new ConflictException("Event " + eventId + " is not published");
         }
 
-        if (event.getInitiator().getId().equals(userId)) {
+        if (event.getInitiatorId().equals(userId)) {
             throw new ConflictException("User " + userId + " cannot rate own event " + eventId);
         }
 
-        EventRating rating = ratingRepository
-                .findByEventIdAndUserId(eventId, userId)
-                .orElse(new EventRating(null, event, user, dto.getValue()));
-
-        rating.setValue(dto.getValue());
-        ratingRepository.save(rating);
+        RatingValue value = dto.getValue();
+        ratingRepository.upsert(eventId, userId, value.name()).ifPresent(inserted -> {
+            if (!inserted) {
+                addVote(eventId, value == RatingValue.LIKE ? RatingValue.DISLIKE : RatingValue.LIKE, -1);
+            }
+            addVote(eventId, value, 1);
+        });
     }
 
     @Override
     public void deleteRating(Long userId, Long eventId) {
-        EventRating rating = ratingRepository
-                .findByEventIdAndUserId(eventId, userId)
+        String value = ratingRepository.deleteReturningValue(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Rating not found for eventId=" + eventId + ", userId=" + userId));
 
-        ratingRepository.delete(rating);
+        addVote(eventId, RatingValue.valueOf(value), -1);
     }
 
     @Override
     @Transactional(readOnly = true)
     public EventRatingSummaryDto getEventRating(Long eventId) {
-        long likes = ratingRepository.countByEventIdAndValue(eventId, RatingValue.LIKE);
-        long dislikes = ratingRepository.countByEventIdAndValue(eventId, RatingValue.DISLIKE);
-        return new EventRatingSummaryDto(likes, dislikes, likes - dislikes);
+        return summaryRepository.findById(eventId)
+                .map(s -> new EventRatingSummaryDto(s.getLikes(), s.getDislikes(), s.getLikes() - s.getDislikes()))
+                .orElseGet(() -> new EventRatingSummaryDto(0, 0, 0));
+    }
+
+    private void addVote(Long eventId, RatingValue value, long delta) {
+        if (value == RatingValue.LIKE) {
+            summaryRepository.addVotes(eventId, delta, 0);
+        } else {
+            summaryRepository.addVotes(eventId, 0, delta);
+        }
     }
 }
@@ -1,17 +1,20 @@
 package ru.practicum.ewm.service.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.dto.request.ParticipationRequestDto;
-
-import java.util.List;
+import ru.practicum.ewm.util.CursorPage;
 
 public interface RequestService {
-    List<ParticipationRequestDto> getUserRequests(Long userId);
+    CursorPage<ParticipationRequestDto> getUserRequests(Long userId, String status, String cursor, Integer size);
 
     ParticipationRequestDto createRequest(Long userId, Long eventId);
 
-    List<ParticipationRequestDto> getEventRequests(Long userId, Long eventId);
+    CursorPage<ParticipationRequestDto> getEventRequests(Long userId, Long eventId, String status,
+                                                        String cursor, Integer size);
+
+    StreamingResponseBody exportEventRequests(Long userId, Long eventId, String status);
 
     EventRequestStatusUpdateResult updateRequestStatuses(Long userId, Long eventId, EventRequestStatusUpdateRequest request);
 
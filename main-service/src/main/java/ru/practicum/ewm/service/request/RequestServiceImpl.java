@@ -1,11 +1,19 @@
 package ru.practicum.ewm.service.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.dto.request.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.dto.request.ParticipationRequestDto;
+import ru.practicum.ewm.exception.BadRequestException;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.mapper.RequestMapper;
@@ -17,29 +25,41 @@ import ru.practicum.ewm.model.enums.RequestStatus;
 import ru.practicum.ewm.repository.EventRepository;
 import ru.practicum.ewm.repository.ParticipationRequestRepository;
 import ru.practicum.ewm.repository.UserRepository;
+import ru.practicum.ewm.service.cache.PublicEventsCache;
+import ru.practicum.ewm.util.CursorPage;
+import ru.practicum.ewm.util.PageCursor;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ParticipationRequestRepository requestRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final RequestMapper requestMapper;
+    private final PublicEventsCache publicEventsCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     @Override
-    public List<ParticipationRequestDto> getUserRequests(Long userId) {
+    public CursorPage<ParticipationRequestDto> getUserRequests(Long userId, String status, String cursor, Integer size) {
         ensureUser(userId);
-        return requestRepository.findByRequesterId(userId).stream()
-                .map(requestMapper::toDto)
-                .collect(Collectors.toList());
+        RequestStatus filter = parseFilterStatus(status);
+        return toCursorPage(requestRepository.findRequesterPage(userId, filter, afterId(cursor), pageable(size)));
     }
 
     @Override
@@ -59,7 +79,7 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Request already exists");
         }
 
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
+        long confirmed = event.getConfirmedRequests();
         int limit = event.getParticipantLimit();
 
         if (limit > 0 && confirmed >= limit) {
@@ -77,12 +97,47 @@ public class RequestServiceImpl implements RequestService {
             pr.setStatus(RequestStatus.PENDING);
         }
 
-        ParticipationRequest saved = requestRepository.save(pr);
-        return requestMapper.toDto(saved);
+        if (pr.getStatus() == RequestStatus.CONFIRMED) {
+            if (admit(eventId, 1) == 0) {
+                throw new ConflictException("Participant limit reached");
+            }
+            publicEventsCache.invalidate();
+        }
+        return requestMapper.toDto(requestRepository.save(pr));
     }
 
     @Override
-    public List<ParticipationRequestDto> getEventRequests(Long userId, Long eventId) {
+    public CursorPage<ParticipationRequestDto> getEventRequests(Long userId, Long eventId, String status,
+                                                               String cursor, Integer size) {
+        ensureEventOwner(userId, eventId);
+        RequestStatus filter = parseFilterStatus(status);
+        return toCursorPage(requestRepository.findEventPage(eventId, filter, afterId(cursor), pageable(size)));
+    }
+
+    @Override
+    public StreamingResponseBody exportEventRequests(Long userId, Long eventId, String status) {
+        ensureEventOwner(userId, eventId);
+        RequestStatus filter = parseFilterStatus(status);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return out -> transaction.executeWithoutResult(tx -> {
+            try (Stream<ParticipationRequestDto> requests = requestRepository.streamByEvent(eventId, filter)) {
+                requests.forEach(dto -> writeLine(out, dto));
+            }
+        });
+    }
+
+    private void writeLine(OutputStream out, ParticipationRequestDto dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureEventOwner(Long userId, Long eventId) {
         ensureUser(userId);
 
         Event event = eventRepository.findById(eventId)
@@ -91,10 +146,38 @@ public class RequestServiceImpl implements RequestService {
         if (!event.getInitiator().getId().equals(userId)) {
             throw new NotFoundException("Event not found: " + eventId);
         }
+    }
 
-        return requestRepository.findByEventId(eventId).stream()
-                .map(requestMapper::toDto)
-                .toList();
+    private RequestStatus parseFilterStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return RequestStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown status: " + status);
+        }
+    }
+
+    private long afterId(String cursor) {
+        return cursor == null ? 0 : PageCursor.decode(cursor).getId();
+    }
+
+    private Pageable pageable(Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size);
+    }
+
+    private CursorPage<ParticipationRequestDto> toCursorPage(Slice<ParticipationRequestDto> requests) {
+        String nextCursor = requests.hasNext()
+                ? PageCursor.of(requests.getContent().get(requests.getNumberOfElements() - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(requests.getContent(), nextCursor);
     }
 
     @Override
@@ -112,86 +195,82 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Unsupported status: " + request.getStatus());
         }
 
-        List<Long> ids = request.getRequestIds() == null ? List.of() : request.getRequestIds();
+        List<Long> ids = request.getRequestIds() == null ? List.of() : request.getRequestIds().stream()
+                .distinct()
+                .toList();
         if (ids.isEmpty()) {
             return new EventRequestStatusUpdateResult(List.of(), List.of());
         }
 
-        List<ParticipationRequest> requests = requestRepository.findAllById(ids);
-        Map<Long, ParticipationRequest> byId = requests.stream()
-                .collect(Collectors.toMap(ParticipationRequest::getId, r -> r, (a, b) -> a));
-
-        for (Long id : ids) {
-            if (!byId.containsKey(id)) {
-                throw new NotFoundException("Request not found: " + id);
-            }
+        if (requestRepository.countByEventIdAndStatusAndIdIn(eventId, RequestStatus.PENDING, ids) != ids.size()) {
+            throw invalidRequests(eventId, ids);
         }
 
-        for (ParticipationRequest pr : requests) {
-            if (!pr.getEvent().getId().equals(eventId)) {
-                throw new ConflictException("Request " + pr.getId() + " does not belong to event " + eventId);
-            }
-            if (pr.getStatus() != RequestStatus.PENDING) {
-                throw new ConflictException("Only PENDING requests can be updated");
-            }
+        if (targetStatus == RequestStatus.REJECTED) {
+            return new EventRequestStatusUpdateResult(List.of(), updatePending(eventId, ids, RequestStatus.REJECTED));
         }
 
         int limit = event.getParticipantLimit();
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-
-        List<ParticipationRequest> confirmedList = new ArrayList<>();
-        List<ParticipationRequest> rejectedList = new ArrayList<>();
-
-        if (targetStatus == RequestStatus.REJECTED) {
-            for (ParticipationRequest pr : requests) {
-                pr.setStatus(RequestStatus.REJECTED);
-                rejectedList.add(pr);
-            }
-            requestRepository.saveAll(requests);
-            return new EventRequestStatusUpdateResult(
-                    confirmedList.stream().map(requestMapper::toDto).toList(),
-                    rejectedList.stream().map(requestMapper::toDto).toList()
-            );
+        if (limit > 0 && event.getConfirmedRequests() >= limit) {
+            throw new ConflictException("Participant limit reached");
         }
 
-        if (limit > 0 && confirmed >= limit) {
+        int admitted = (int) admit(eventId, ids.size());
+        if (admitted == 0) {
             throw new ConflictException("Participant limit reached");
         }
 
-        for (ParticipationRequest pr : requests) {
-            if (limit > 0 && confirmed >= limit) {
-                pr.setStatus(RequestStatus.REJECTED);
-                rejectedList.add(pr);
-            } else {
-                pr.setStatus(RequestStatus.CONFIRMED);
-                confirmedList.add(pr);
-                confirmed++;
-            }
+        List<ParticipationRequestDto> confirmed = updatePending(eventId, ids.subList(0, admitted), RequestStatus.CONFIRMED);
+        if (confirmed.size() < admitted) {
+            eventRepository.addConfirmedRequests(eventId, confirmed.size() - admitted);
+        }
+        List<ParticipationRequestDto> rejected = new ArrayList<>();
+        if (admitted < ids.size()) {
+            rejected.addAll(updatePending(eventId, ids.subList(admitted, ids.size()), RequestStatus.REJECTED));
         }
 
-        requestRepository.saveAll(requests);
+        if (limit > 0 && eventRepository.countFreeSlots(eventId) == 0) {
+            requestRepository.rejectPending(eventId).stream()
+                    .map(requestMapper::toDto)
+                    .forEach(rejected::add);
+        }
 
-        if (limit > 0 && confirmed >= limit) {
-            List<ParticipationRequest> pending = requestRepository.findByEventId(eventId).stream()
-                    .filter(r -> r.getStatus() == RequestStatus.PENDING)
-                    .collect(Collectors.toList());
-            if (!pending.isEmpty()) {
-                for (ParticipationRequest pr : pending) {
-                    pr.setStatus(RequestStatus.REJECTED);
-                }
-                requestRepository.saveAll(pending);
-                rejectedList.addAll(pending);
+        publicEventsCache.invalidate();
+
+        return new EventRequestStatusUpdateResult(confirmed, rejected);
+    }
+
+    private List<ParticipationRequestDto> updatePending(Long eventId, List<Long> ids, RequestStatus status) {
+        return requestRepository.updatePendingStatus(eventId, ids, status.name()).stream()
+                .map(requestMapper::toDto)
+                .toList();
+    }
+
+    private RuntimeException invalidRequests(Long eventId, List<Long> ids) {
+        Map<Long, ParticipationRequest> byId = requestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ParticipationRequest::getId, r -> r));
+        for (Long id : ids) {
+            ParticipationRequest pr = byId.get(id);
+            if (pr == null) {
+                return new NotFoundException("Request not found: " + id);
+            }
+            if (!pr.getEvent().getId().equals(eventId)) {
+                return new ConflictException("Request " + id + " does not belong to event " + eventId);
             }
         }
+        return new ConflictException("Only PENDING requests can be updated");
+    }
 
-        return new EventRequestStatusUpdateResult(
-                confirmedList.stream().map(requestMapper::toDto).toList(),
-                rejectedList.stream().map(requestMapper::toDto).toList()
-        );
+    private long admit(Long eventId, long count) {
+        long admitted = count;
+        while (admitted > 0 && eventRepository.tryAddConfirmedRequests(eventId, admitted) == 0) {
+            admitted = Math.min(admitted, eventRepository.countFreeSlots(eventId));
+        }
+        return admitted;
     }
 
     private User ensureUser(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + userId));
     }
 
@@ -211,11 +290,18 @@ public class RequestServiceImpl implements RequestService {
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
         ensureUser(userId);
 
-        ParticipationRequest req = requestRepository.findByIdAndRequesterId(requestId, userId)
+        Long eventId = requestRepository.findEventIdByIdAndRequesterId(requestId, userId)
                 .orElseThrow(() -> new NotFoundException("Request not found: " + requestId));
 
-        req.setStatus(RequestStatus.CANCELED);
-        ParticipationRequest saved = requestRepository.save(req);
-        return requestMapper.toDto(saved);
+        eventRepository.lockById(eventId);
+        Optional<String> previous = requestRepository.cancel(requestId, userId);
+        if (previous.filter(RequestStatus.CONFIRMED.name()::equals).isPresent()) {
+            eventRepository.addConfirmedRequests(eventId, -1);
+            publicEventsCache.invalidate();
+        }
+
+        return requestRepository.findByIdAndRequesterId(requestId, userId)
+                .map(requestMapper::toDto)
+                .orElseThrow(() -> new NotFoundException("Request not found: " + requestId));
     }
 }
@@ -0,0 +1,98 @@
+package ru.practicum.ewm.service.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.SyncWatermark;
+import ru.practicum.ewm.repository.EventViewRepository;
+import ru.practicum.ewm.repository.SyncWatermarkRepository;
+import ru.practicum.statsclient.StatsClient;
+import ru.practicum.statsdto.ViewStats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static ru.practicum.ewm.util.ApiPaths.EVENT_URI_PREFIX;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventViewsSync {
+
+    private static final String WATERMARK = "event_views";
+    private static final LocalDateTime VIEWS_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final StatsClient statsClient;
+    private final EventViewRepository eventViewRepository;
+    private final SyncWatermarkRepository watermarkRepository;
+
+    @Value("${stats.views.sync-batch-size:500}")
+    private int batchSize;
+
+    @Value("${stats.views.sync-overlap-ms:30000}")
+    private long overlapMs;
+
+    @Scheduled(fixedDelayString = "${stats.views.sync-interval-ms:10000}")
+    public void sync() {
+        LocalDateTime until = LocalDateTime.now().withNano(0);
+        LocalDateTime since = watermarkRepository.findById(WATERMARK)
+                .map(w -> w.getSyncedUntil().minus(Duration.ofMillis(overlapMs)))
+                .orElse(VIEWS_START);
+
+        try {
+            List<Long> touched = findTouchedEvents(since, until);
+            int updated = 0;
+            for (int i = 0; i < touched.size(); i += batchSize) {
+                updated += store(touched.subList(i, Math.min(i + batchSize, touched.size())), until);
+            }
+            watermarkRepository.save(new SyncWatermark(WATERMARK, until));
+            if (updated > 0) {
+                log.debug("Updated views for {} of {} events hit since {}", updated, touched.size(), since);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync event views since {}: {}", since, e.getMessage());
+        }
+    }
+
+    private List<Long> findTouchedEvents(LocalDateTime since, LocalDateTime until) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ViewStats stats : statsClient.getStats(since, until, null, false, false)) {
+            Long eventId = parseEventId(stats.getUri());
+            if (eventId != null) {
+                ids.add(eventId);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private int store(List<Long> eventIds, LocalDateTime until) {
+        List<String> uris = eventIds.stream().map(id -> EVENT_URI_PREFIX + id).toList();
+        int updated = 0;
+        for (ViewStats stats : statsClient.getStats(VIEWS_START, until, uris, true, true)) {
+            Long eventId = parseEventId(stats.getUri());
+            if (eventId != null) {
+                if (eventViewRepository.upsert(eventId, stats.getHits(), until) > 0) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+    private Long parseEventId(String uri) {
+        if (uri == null || !uri.startsWith(EVENT_URI_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(uri.substring(EVENT_URI_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.service.stats;
+
+public enum HitOverflowPolicy {
+    DROP_OLDEST,
+    DROP_NEW,
+    BLOCK
+}
@@ -8,8 +8,6 @@ import java.util.Map;
 public interface StatsFacade {
     void hit(HttpServletRequest request);
 
-    Map<String, Long> getViewsByUris(List<String> uris);
-
     Map<Long, Long> getViewsByEventIds(List<Long> eventIds);
 
     long getViewsByEventId(Long eventId);
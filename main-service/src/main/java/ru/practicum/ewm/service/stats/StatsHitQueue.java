@@ -0,0 +1,126 @@
+package ru.practicum.ewm.service.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.statsclient.StatsClient;
+import ru.practicum.statsdto.EndpointHit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class StatsHitQueue {
+
+    private final StatsClient statsClient;
+    private final BlockingQueue<EndpointHit> queue;
+    private final HitOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnError;
+    private final Timer flushTimer;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public StatsHitQueue(StatsClient statsClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${stats.hits.queue-capacity:10000}") int capacity,
+                         @Value("${stats.hits.batch-size:500}") int batchSize,
+                         @Value("${stats.hits.flush-interval-ms:200}") long flushIntervalMs,
+                         @Value("${stats.hits.overflow-policy:DROP_OLDEST}") HitOverflowPolicy overflowPolicy) {
+        this.statsClient = statsClient;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+
+        Gauge.builder("ewm.stats.hits.queue.depth", queue, BlockingQueue::size)
+                .description("Hits waiting to be sent to stats-server")
+                .register(meterRegistry);
+        this.droppedOnOverflow = Counter.builder("ewm.stats.hits.dropped")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        this.droppedOnError = Counter.builder("ewm.stats.hits.dropped")
+                .tag("reason", "error")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("ewm.stats.hits.flush")
+                .description("Time spent sending one batch of hits")
+                .register(meterRegistry);
+
+        this.flusher = new Thread(this::drainLoop, "stats-hit-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void offer(EndpointHit hit) {
+        switch (overflowPolicy) {
+            case DROP_NEW -> {
+                if (!queue.offer(hit)) {
+                    droppedOnOverflow.increment();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(hit)) {
+                    if (queue.poll() != null) {
+                        droppedOnOverflow.increment();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    queue.put(hit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedOnOverflow.increment();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drainLoop() {
+        List<EndpointHit> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EndpointHit first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushTimer.record(() -> send(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<EndpointHit> batch) {
+        try {
+            statsClient.hits(batch);
+        } catch (RuntimeException e) {
+            droppedOnError.increment(batch.size());
+            log.warn("Failed to send {} hits to stats-server: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -2,11 +2,12 @@ package ru.practicum.ewm.service.user;
 
 import ru.practicum.ewm.dto.user.NewUserRequest;
 import ru.practicum.ewm.dto.user.UserDto;
+import ru.practicum.ewm.util.CursorPage;
 
 import java.util.List;
 
 public interface UserService {
-    List<UserDto> getUsers(List<Long> ids, int from, int size);
+    CursorPage<UserDto> getUsers(List<Long> ids, String cursor, int from, int size);
 
     UserDto createUser(NewUserRequest request);
 
@@ -1,6 +1,10 @@
 package ru.practicum.ewm.service.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.user.NewUserRequest;
@@ -10,6 +14,9 @@ import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.mapper.UserMapper;
 import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.repository.UserRepository;
+import ru.practicum.ewm.util.CacheNames;
+import ru.practicum.ewm.util.CursorPage;
+import ru.practicum.ewm.util.PageCursor;
 import ru.practicum.ewm.util.PageRequestFactory;
 
 import java.util.List;
@@ -19,19 +26,32 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
     @Override
-    public List<UserDto> getUsers(List<Long> ids, int from, int size) {
-        if (ids == null || ids.isEmpty()) {
-            return userRepository.findAll(PageRequestFactory.from(from, size))
-                    .map(userMapper::toDto)
-                    .getContent();
+    public CursorPage<UserDto> getUsers(List<Long> ids, String cursor, int from, int size) {
+        boolean all = ids == null || ids.isEmpty();
+        Slice<User> users;
+        if (cursor != null) {
+            long afterId = PageCursor.decode(cursor).getId();
+            PageRequest pageable = PageRequest.of(0, size, BY_ID);
+            users = all
+                    ? userRepository.findByIdGreaterThan(afterId, pageable)
+                    : userRepository.findByIdInAndIdGreaterThan(ids, afterId, pageable);
+        } else {
+            PageRequest pageable = PageRequestFactory.from(from, size, BY_ID);
+            users = all
+                    ? userRepository.findAllBy(pageable)
+                    : userRepository.findByIdIn(ids, pageable);
         }
-        return userRepository.findByIdIn(ids, PageRequestFactory.from(from, size))
-                .map(userMapper::toDto)
-                .getContent();
+
+        String nextCursor = users.hasNext()
+                ? PageCursor.of(users.getContent().get(users.getNumberOfElements() - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(users.map(userMapper::toDto).getContent(), nextCursor);
     }
 
     @Override
@@ -46,6 +66,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userId")
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User not found: " + userId);
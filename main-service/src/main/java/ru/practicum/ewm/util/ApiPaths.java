@@ -22,6 +22,7 @@ public final class ApiPaths {
     public static final String ID = "/{id}";
 
     public static final String CANCEL = "/cancel";
+    public static final String EXPORT = "/export";
 
     public static final String ADMIN_USERS = ADMIN + USERS;
     public static final String ADMIN_EVENTS = ADMIN + EVENTS;
@@ -0,0 +1,11 @@
+package ru.practicum.ewm.util;
+
+public final class CacheNames {
+    private CacheNames() {
+    }
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_PAGES = "categoryPages";
+    public static final String USERS = "users";
+    public static final String PUBLIC_EVENTS = "publicEvents";
+}
@@ -0,0 +1,31 @@
+package ru.practicum.ewm.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    List<T> items;
+    String nextCursor;
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        return toResponseEntity(ResponseEntity.ok());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity(ResponseEntity.BodyBuilder response) {
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.ewm.util;
+
+import lombok.Value;
+import ru.practicum.ewm.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    LocalDateTime eventDate;
+    long id;
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime eventDate, long id) {
+        return new PageCursor(eventDate, id);
+    }
+
+    public String encode() {
+        String raw = eventDate == null ? String.valueOf(id) : eventDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return of(Long.parseLong(raw));
+            }
+            return of(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
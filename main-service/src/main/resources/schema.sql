@@ -1,3 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE IF NOT EXISTS users (
     id BIGSERIAL PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
@@ -23,6 +25,7 @@ CREATE TABLE IF NOT EXISTS events (
     event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     paid BOOLEAN NOT NULL DEFAULT FALSE,
     participant_limit INTEGER NOT NULL DEFAULT 0,
+    confirmed_requests BIGINT NOT NULL DEFAULT 0,
     request_moderation BOOLEAN NOT NULL DEFAULT TRUE,
     lat DOUBLE PRECISION,
     lon DOUBLE PRECISION,
@@ -35,6 +38,19 @@ CREATE INDEX IF NOT EXISTS idx_events_event_date ON events (event_date);
 CREATE INDEX IF NOT EXISTS idx_events_state ON events (state);
 CREATE INDEX IF NOT EXISTS idx_events_category ON events (category_id);
 CREATE INDEX IF NOT EXISTS idx_events_initiator ON events (initiator_id);
+CREATE INDEX IF NOT EXISTS idx_events_annotation_trgm ON events USING gin (lower(annotation) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_description_trgm ON events USING gin (lower(description) gin_trgm_ops);
+
+CREATE TABLE IF NOT EXISTS event_views (
+    event_id BIGINT PRIMARY KEY REFERENCES events(id) ON DELETE CASCADE,
+    views BIGINT NOT NULL DEFAULT 0,
+    updated_on TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sync_watermarks (
+    name VARCHAR(64) PRIMARY KEY,
+    synced_until TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
 
 CREATE TABLE IF NOT EXISTS compilations (
     id BIGSERIAL PRIMARY KEY,
@@ -62,3 +78,25 @@ CREATE UNIQUE INDEX IF NOT EXISTS uq_request_event_requester
 CREATE INDEX IF NOT EXISTS idx_requests_event ON participation_requests (event_id);
 CREATE INDEX IF NOT EXISTS idx_requests_requester ON participation_requests (requester_id);
 CREATE INDEX IF NOT EXISTS idx_requests_status ON participation_requests (status);
+
+CREATE TABLE IF NOT EXISTS event_ratings (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    value VARCHAR(255) NOT NULL,
+    CONSTRAINT uq_event_rating_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS event_rating_summary (
+    event_id BIGINT PRIMARY KEY REFERENCES events(id) ON DELETE CASCADE,
+    likes BIGINT NOT NULL DEFAULT 0,
+    dislikes BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO event_rating_summary (event_id, likes, dislikes)
+SELECT event_id,
+       count(*) FILTER (WHERE value = 'LIKE'),
+       count(*) FILTER (WHERE value = 'DISLIKE')
+FROM event_ratings
+WHERE NOT EXISTS (SELECT 1 FROM event_rating_summary)
+GROUP BY event_id;
@@ -0,0 +1,74 @@
+package ru.practicum.ewm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.enums.EventState;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.EventRepository;
+import ru.practicum.ewm.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    protected User newUser() {
+        String name = UUID.randomUUID().toString();
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return userRepository.save(user);
+    }
+
+    protected Category newCategory() {
+        Category category = new Category();
+        category.setName(UUID.randomUUID().toString());
+        return categoryRepository.save(category);
+    }
+
+    protected Event newPublishedEvent(User initiator, Category category, int participantLimit, boolean requestModeration) {
+        Event event = new Event();
+        event.setTitle("Event");
+        event.setAnnotation("Annotation of a published test event");
+        event.setDescription("Description of a published test event");
+        event.setCategory(category);
+        event.setInitiator(initiator);
+        event.setEventDate(LocalDateTime.now().plusDays(7));
+        event.setParticipantLimit(participantLimit);
+        event.setRequestModeration(requestModeration);
+        event.setCreatedOn(LocalDateTime.now());
+        event.setPublishedOn(LocalDateTime.now());
+        event.setState(EventState.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
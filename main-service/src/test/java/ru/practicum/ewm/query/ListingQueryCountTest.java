@@ -0,0 +1,120 @@
+package ru.practicum.ewm.query;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.ewm.PostgresIntegrationTest;
+import ru.practicum.ewm.dto.compilation.NewCompilationDto;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.service.cache.PublicEventsCache;
+import ru.practicum.ewm.service.category.CategoryService;
+import ru.practicum.ewm.service.compilation.CompilationService;
+import ru.practicum.ewm.service.event.ConfirmedRequestsReconciler;
+import ru.practicum.ewm.service.event.EventService;
+import ru.practicum.ewm.service.stats.EventViewsSync;
+import ru.practicum.ewm.service.user.UserService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.ewm.util.CacheNames.CATEGORY_PAGES;
+
+class ListingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @MockBean
+    private EventViewsSync eventViewsSync;
+
+    @MockBean
+    private ConfirmedRequestsReconciler confirmedRequestsReconciler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PublicEventsCache publicEventsCache;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CompilationService compilationService;
+
+    private Statistics statistics;
+    private User initiator;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        initiator = newUser();
+        IntStream.range(0, PAGE_SIZE).forEach(i -> newPublishedEvent(newUser(), newCategory(), 0, false));
+        IntStream.range(0, PAGE_SIZE).forEach(i -> newPublishedEvent(initiator, newCategory(), 0, false));
+        Objects.requireNonNull(cacheManager.getCache(CATEGORY_PAGES)).clear();
+        publicEventsCache.invalidate();
+    }
+
+    @Test
+    void publicEvents() {
+        assertStatements(2, () -> eventService.getPublicEvents(null, null, null, null, null, false,
+                null, null, 0, PAGE_SIZE, new MockHttpServletRequest()));
+    }
+
+    @Test
+    void adminEvents() {
+        assertStatements(2, () -> eventService.getAdminEvents(null, null, null, null, null, null, 0, PAGE_SIZE));
+    }
+
+    @Test
+    void userEvents() {
+        assertStatements(3, () -> eventService.getUserEvents(initiator.getId(), 0, PAGE_SIZE));
+    }
+
+    @Test
+    void users() {
+        assertStatements(1, () -> userService.getUsers(null, null, 0, PAGE_SIZE));
+    }
+
+    @Test
+    void categories() {
+        assertStatements(1, () -> categoryService.getCategories(null, 0, PAGE_SIZE));
+    }
+
+    @Test
+    void compilationPageIsConstantInCompilationsAndEvents() {
+        Category category = newCategory();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            List<Long> events = IntStream.range(0, 3)
+                    .mapToObj(j -> newPublishedEvent(newUser(), category, 0, false).getId())
+                    .toList();
+            compilationService.createCompilation(new NewCompilationDto("Compilation " + i, true, events));
+        }
+
+        assertStatements(3, () -> compilationService.getCompilations(true, 0, 1));
+        assertStatements(3, () -> compilationService.getCompilations(true, 0, PAGE_SIZE));
+    }
+
+    private void assertStatements(long expected, Runnable call) {
+        statistics.clear();
+        call.run();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "prepared statements");
+    }
+}
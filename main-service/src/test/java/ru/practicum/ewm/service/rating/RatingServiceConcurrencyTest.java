@@ -0,0 +1,113 @@
+package ru.practicum.ewm.service.rating;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.PostgresIntegrationTest;
+import ru.practicum.ewm.dto.rating.EventRatingSummaryDto;
+import ru.practicum.ewm.dto.rating.RatingRequestDto;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.enums.RatingValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+class RatingServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 32;
+    private static final int FLIPS = 2000;
+    private static final int STORM_VOTERS = 200;
+    private static final int STORM_VOTES_PER_VOTER = 10;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentVoteChangesBySameUserKeepSummaryConsistent() throws Exception {
+        Event event = newPublishedEvent(newUser(), newCategory(), 0, false);
+        User voter = newUser();
+        List<RatingValue> votes = IntStream.range(0, FLIPS)
+                .mapToObj(i -> i % 2 == 0 ? RatingValue.LIKE : RatingValue.DISLIKE)
+                .toList();
+
+        runConcurrently(votes.stream()
+                .<Runnable>map(value -> () -> ratingService.rateEvent(voter.getId(), event.getId(),
+                        new RatingRequestDto(value)))
+                .toList());
+
+        EventRatingSummaryDto summary = ratingService.getEventRating(event.getId());
+        assertEquals(1, summary.getLikes() + summary.getDislikes());
+        assertSummaryMatchesRows(event, summary);
+    }
+
+    @Test
+    void voteStormOnTrendingEvent() throws Exception {
+        Event event = newPublishedEvent(newUser(), newCategory(), 0, false);
+        List<User> voters = IntStream.range(0, STORM_VOTERS).mapToObj(i -> newUser()).toList();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < STORM_VOTES_PER_VOTER; i++) {
+            for (User voter : voters) {
+                tasks.add(() -> ratingService.rateEvent(voter.getId(), event.getId(),
+                        new RatingRequestDto(ThreadLocalRandom.current().nextBoolean()
+                                ? RatingValue.LIKE : RatingValue.DISLIKE)));
+            }
+        }
+
+        long started = System.nanoTime();
+        runConcurrently(tasks);
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Vote storm: {} votes by {} users in {} ms ({} votes/s)",
+                tasks.size(), STORM_VOTERS, elapsedMs, tasks.size() * 1000L / elapsedMs);
+
+        EventRatingSummaryDto summary = ratingService.getEventRating(event.getId());
+        assertEquals(STORM_VOTERS, summary.getLikes() + summary.getDislikes());
+        assertSummaryMatchesRows(event, summary);
+    }
+
+    private void assertSummaryMatchesRows(Event event, EventRatingSummaryDto summary) {
+        assertEquals(countRows(event, RatingValue.LIKE), summary.getLikes(), "likes");
+        assertEquals(countRows(event, RatingValue.DISLIKE), summary.getDislikes(), "dislikes");
+        assertEquals(summary.getLikes() - summary.getDislikes(), summary.getScore(), "score");
+    }
+
+    private long countRows(Event event, RatingValue value) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from event_ratings where event_id = ? and value = ?",
+                Long.class, event.getId(), value.name());
+        return count == null ? 0 : count;
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = tasks.stream()
+                    .<Future<?>>map(task -> executor.submit(() -> {
+                        start.await();
+                        task.run();
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
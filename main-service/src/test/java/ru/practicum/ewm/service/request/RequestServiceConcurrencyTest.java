@@ -0,0 +1,114 @@
+package ru.practicum.ewm.service.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.ewm.PostgresIntegrationTest;
+import ru.practicum.ewm.dto.request.EventRequestStatusUpdateRequest;
+import ru.practicum.ewm.dto.request.ParticipationRequestDto;
+import ru.practicum.ewm.exception.ConflictException;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.enums.RequestStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int LIMIT = 25;
+    private static final int REQUESTERS = 1000;
+    private static final int THREADS = 32;
+    private static final int CONFIRM_BATCH = 5;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void concurrentAutoConfirmedRequestsNeverExceedLimit() throws Exception {
+        User initiator = newUser();
+        Event event = newPublishedEvent(initiator, newCategory(), LIMIT, false);
+        List<User> requesters = IntStream.range(0, REQUESTERS).mapToObj(i -> newUser()).toList();
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        runConcurrently(requesters, requester -> {
+            try {
+                requestService.createRequest(requester.getId(), event.getId());
+                accepted.incrementAndGet();
+            } catch (ConflictException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertEquals(LIMIT, accepted.get());
+        assertEquals(REQUESTERS - LIMIT, refused.get());
+        assertStatusCount(initiator, event, RequestStatus.CONFIRMED, LIMIT);
+        assertEquals(LIMIT, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests());
+    }
+
+    @Test
+    void concurrentConfirmationsNeverExceedLimit() throws Exception {
+        User initiator = newUser();
+        Event event = newPublishedEvent(initiator, newCategory(), LIMIT, true);
+        List<Long> pending = IntStream.range(0, REQUESTERS)
+                .mapToObj(i -> requestService.createRequest(newUser().getId(), event.getId()).getId())
+                .toList();
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i += CONFIRM_BATCH) {
+            batches.add(pending.subList(i, Math.min(i + CONFIRM_BATCH, pending.size())));
+        }
+
+        AtomicInteger confirmed = new AtomicInteger();
+        runConcurrently(batches, batch -> {
+            EventRequestStatusUpdateRequest update = new EventRequestStatusUpdateRequest();
+            update.setRequestIds(batch);
+            update.setStatus(RequestStatus.CONFIRMED.name());
+            try {
+                confirmed.addAndGet(requestService.updateRequestStatuses(initiator.getId(), event.getId(), update)
+                        .getConfirmedRequests().size());
+            } catch (ConflictException ignored) {
+            }
+        });
+
+        assertEquals(LIMIT, confirmed.get());
+        assertStatusCount(initiator, event, RequestStatus.CONFIRMED, LIMIT);
+        assertStatusCount(initiator, event, RequestStatus.PENDING, 0);
+        assertEquals(LIMIT, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests());
+    }
+
+    private void assertStatusCount(User initiator, Event event, RequestStatus status, int expected) {
+        List<ParticipationRequestDto> requests = requestService
+                .getEventRequests(initiator.getId(), event.getId(), status.name(), null, null)
+                .getItems();
+        assertEquals(expected, requests.size(), status + " requests");
+    }
+
+    private static <T> void runConcurrently(List<T> tasks, Consumer<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = tasks.stream()
+                    .<Future<?>>map(task -> executor.submit(() -> {
+                        start.await();
+                        action.accept(task);
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
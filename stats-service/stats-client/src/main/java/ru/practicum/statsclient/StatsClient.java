@@ -1,37 +1,90 @@
 package ru.practicum.statsclient;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.statsdto.EndpointHit;
 import ru.practicum.statsdto.ViewStats;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatsClient implements AutoCloseable {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-public class StatsClient {
     private final RestTemplate rest;
     private final String serverUrl;
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService executor;
+    private final CircuitBreaker circuitBreaker;
 
     public StatsClient(String serverUrl) {
-        this.rest = new RestTemplate();
+        this(serverUrl, StatsClientSettings.defaults());
+    }
+
+    public StatsClient(String serverUrl, StatsClientSettings settings) {
         this.serverUrl = serverUrl;
+        this.httpClient = buildHttpClient(settings);
+        this.rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        this.executor = Executors.newFixedThreadPool(settings.getAsyncThreads(), new DaemonThreadFactory());
+        this.circuitBreaker = new CircuitBreaker(settings.getFailureThreshold(), settings.getOpenDurationMs());
     }
 
     public void hit(EndpointHit endpointHit) {
         makeAndSendRequest("/hit", HttpMethod.POST, null, endpointHit);
     }
 
+    public void hits(List<EndpointHit> endpointHits) {
+        makeAndSendRequest("/hits", HttpMethod.POST, null, endpointHits);
+    }
+
+    public CompletableFuture<Void> hitAsync(EndpointHit endpointHit) {
+        return CompletableFuture.runAsync(() -> hit(endpointHit), executor);
+    }
+
+    public CompletableFuture<Void> hitsAsync(List<EndpointHit> endpointHits) {
+        return CompletableFuture.runAsync(() -> hits(endpointHits), executor);
+    }
+
+    public CompletableFuture<List<ViewStats>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                            @Nullable List<String> uris, boolean unique) {
+        return CompletableFuture.supplyAsync(() -> getStats(start, end, uris, unique), executor);
+    }
+
+    public CompletableFuture<List<ViewStats>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                            @Nullable List<String> uris, boolean unique,
+                                                            boolean approximate) {
+        return CompletableFuture.supplyAsync(() -> getStats(start, end, uris, unique, approximate), executor);
+    }
+
     public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end,
                                     @Nullable List<String> uris, boolean unique) {
+        return getStats(start, end, uris, unique, false);
+    }
 
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end,
+                                    @Nullable List<String> uris, boolean unique, boolean approximate) {
         Map<String, Object> parameters = new HashMap<>();
-        parameters.put("start", encodeDateTime(start));
-        parameters.put("end", encodeDateTime(end));
+        parameters.put("start", formatDateTime(start));
+        parameters.put("end", formatDateTime(end));
 
         String path = "/stats?start={start}&end={end}";
 
@@ -45,17 +98,23 @@ public class StatsClient {
             path += "&unique={unique}";
         }
 
+        if (approximate) {
+            parameters.put("approximate", true);
+            path += "&approximate={approximate}";
+        }
+
         ResponseEntity<ViewStats[]> response = makeAndSendRequest(
                 path, HttpMethod.GET, parameters, null, ViewStats[].class);
 
         return response != null ? Arrays.asList(Objects.requireNonNull(response.getBody())) : Collections.emptyList();
     }
 
-    private String encodeDateTime(LocalDateTime dateTime) {
-        return URLEncoder.encode(
-                dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
-                StandardCharsets.UTF_8
-        );
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private String formatDateTime(LocalDateTime dateTime) {
+        return dateTime.format(DATE_TIME_FORMATTER);
     }
 
     private <T> ResponseEntity<T> makeAndSendRequest(String path, HttpMethod method,
@@ -64,6 +123,10 @@ public class StatsClient {
                                                      Class<T> responseType) {
         HttpEntity<Object> requestEntity = new HttpEntity<>(body, defaultHeaders());
 
+        if (!circuitBreaker.tryAcquire()) {
+            throw new StatsUnavailableException("Сервис статистики временно недоступен");
+        }
+
         ResponseEntity<T> response;
         try {
             if (parameters != null) {
@@ -72,8 +135,20 @@ public class StatsClient {
                 response = rest.exchange(serverUrl + path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure();
+                throw new StatsUnavailableException("Ошибка при выполнении запроса: " + e.getMessage(), e);
+            }
+            circuitBreaker.onSuccess();
             throw new RuntimeException("Ошибка при выполнении запроса: " + e.getMessage(), e);
+        } catch (RestClientException e) {
+            circuitBreaker.onFailure();
+            throw new StatsUnavailableException("Ошибка при выполнении запроса: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
         }
+        circuitBreaker.onSuccess();
 
         return response;
     }
@@ -84,10 +159,49 @@ public class StatsClient {
         makeAndSendRequest(path, method, parameters, body, Object.class);
     }
 
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        httpClient.close();
+    }
+
+    private static CloseableHttpClient buildHttpClient(StatsClientSettings settings) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(settings.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(settings.getKeepAliveMs()))
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.getKeepAliveMs()))
+                .evictExpiredConnections()
+                .build();
+    }
+
     private HttpHeaders defaultHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         return headers;
     }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "stats-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package ru.practicum.statsclient;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StatsClientSettings {
+
+    @Builder.Default
+    long connectTimeoutMs = 1000;
+
+    @Builder.Default
+    long readTimeoutMs = 2000;
+
+    @Builder.Default
+    long connectionRequestTimeoutMs = 500;
+
+    @Builder.Default
+    int maxConnections = 50;
+
+    @Builder.Default
+    int maxConnectionsPerRoute = 50;
+
+    @Builder.Default
+    long keepAliveMs = 30000;
+
+    @Builder.Default
+    int asyncThreads = 4;
+
+    @Builder.Default
+    int failureThreshold = 5;
+
+    @Builder.Default
+    long openDurationMs = 10000;
+
+    public static StatsClientSettings defaults() {
+        return StatsClientSettings.builder().build();
+    }
+}
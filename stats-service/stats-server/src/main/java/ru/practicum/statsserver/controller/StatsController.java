@@ -1,25 +1,44 @@
 package ru.practicum.statsserver.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.statsdto.EndpointHit;
 import ru.practicum.statsdto.ViewStats;
 import ru.practicum.statsserver.service.StatsService;
+import ru.practicum.statsserver.util.HyperLogLog;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 public class StatsController {
     private static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final String ERROR_BOUND_HEADER = "X-Stats-Error-Bound";
     private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${stats.hits.max-stream-size:100000}")
+    private int maxStreamSize;
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
@@ -28,20 +47,65 @@ public class StatsController {
         statsService.saveHit(endpointHit);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void hits(@RequestBody List<EndpointHit> endpointHits) {
+        log.info("Получен пакет посещений: {}", endpointHits.size());
+        endpointHits.forEach(this::validate);
+        statsService.saveHits(endpointHits);
+    }
+
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void hitsStream(HttpServletRequest request) throws IOException {
+        List<EndpointHit> hits = new ArrayList<>();
+        try (MappingIterator<EndpointHit> lines = objectMapper.readerFor(EndpointHit.class)
+                .readValues(request.getInputStream())) {
+            while (lines.hasNextValue()) {
+                if (hits.size() == maxStreamSize) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Stream must not contain more than " + maxStreamSize + " hits");
+                }
+                EndpointHit hit = lines.nextValue();
+                validate(hit);
+                hits.add(hit);
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Malformed hit at line " + (hits.size() + 1) + ": " + e.getOriginalMessage());
+        }
+        statsService.saveHits(hits);
+        log.info("Получен поток посещений: {}", hits.size());
+    }
+
     @GetMapping("/stats")
-    public List<ViewStats> getStats(
+    public ResponseEntity<List<ViewStats>> getStats(
             @RequestParam @DateTimeFormat(pattern = DATE_TIME_PATTERN) LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = DATE_TIME_PATTERN) LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") boolean unique) {
+            @RequestParam(defaultValue = "false") boolean unique,
+            @RequestParam(defaultValue = "false") boolean approximate) {
 
         if (start.isAfter(end)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start must not be after end");
         }
 
-        log.info("Получен запрос на получение статистики с {} по {}, uris: {}, unique: {}",
-                start, end, uris, unique);
+        log.info("Получен запрос на получение статистики с {} по {}, uris: {}, unique: {}, approximate: {}",
+                start, end, uris, unique, approximate);
+
+        List<ViewStats> stats = statsService.getStats(start, end, uris, unique, approximate);
+        if (statsService.isApproximate(unique, approximate)) {
+            return ResponseEntity.ok()
+                    .header(ERROR_BOUND_HEADER, String.valueOf(HyperLogLog.standardError()))
+                    .body(stats);
+        }
+        return ResponseEntity.ok(stats);
+    }
 
-        return statsService.getStats(start, end, uris, unique);
+    private void validate(EndpointHit endpointHit) {
+        Set<ConstraintViolation<EndpointHit>> violations = validator.validate(endpointHit);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.iterator().next().getMessage());
+        }
     }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.statsserver.repository;
+
+import ru.practicum.statsserver.model.RollupGranularity;
+import ru.practicum.statsserver.model.Stats;
+
+import java.time.LocalDateTime;
+
+public record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart, String app, String uri) {
+
+    public static RollupKey of(RollupGranularity granularity, Stats hit) {
+        return new RollupKey(granularity, granularity.floor(hit.getTimestamp()), hit.getApp(), hit.getUri());
+    }
+}
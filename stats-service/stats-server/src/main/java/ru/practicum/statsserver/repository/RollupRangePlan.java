@@ -0,0 +1,42 @@
+package ru.practicum.statsserver.repository;
+
+import ru.practicum.statsserver.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public record RollupRangePlan(List<BucketRange> buckets, List<RawRange> raw) {
+
+    public record BucketRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+
+    public record RawRange(LocalDateTime from, LocalDateTime to) {
+    }
+
+    public static RollupRangePlan of(LocalDateTime from, LocalDateTime to, List<RollupGranularity> granularities) {
+        RollupRangePlan plan = new RollupRangePlan(new ArrayList<>(), new ArrayList<>());
+        plan.split(from, to, granularities, 0);
+        return plan;
+    }
+
+    private void split(LocalDateTime from, LocalDateTime to, List<RollupGranularity> granularities, int level) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (level == granularities.size()) {
+            raw.add(new RawRange(from, to));
+            return;
+        }
+        RollupGranularity granularity = granularities.get(level);
+        LocalDateTime first = granularity.ceil(from);
+        LocalDateTime last = granularity.floor(to);
+        if (!first.isBefore(last)) {
+            split(from, to, granularities, level + 1);
+            return;
+        }
+        buckets.add(new BucketRange(granularity, first, last));
+        split(from, first, granularities, level + 1);
+        split(last, to, granularities, level + 1);
+    }
+}
@@ -8,7 +8,7 @@ import ru.practicum.statsserver.model.Stats;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface StatsRepository extends JpaRepository<Stats, Long> {
+public interface StatsRepository extends JpaRepository<Stats, Long>, StatsRepositoryCustom {
 
     @Query("SELECT new ru.practicum.statsdto.ViewStats(s.app, s.uri, COUNT(s.ip)) " +
            "FROM Stats AS s " +
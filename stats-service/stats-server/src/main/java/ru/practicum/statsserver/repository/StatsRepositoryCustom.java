@@ -0,0 +1,10 @@
+package ru.practicum.statsserver.repository;
+
+import ru.practicum.statsserver.model.Stats;
+
+import java.util.List;
+
+public interface StatsRepositoryCustom {
+
+    void insertAll(List<Stats> hits);
+}
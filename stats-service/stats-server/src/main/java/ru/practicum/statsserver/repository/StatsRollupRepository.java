@@ -0,0 +1,273 @@
+package ru.practicum.statsserver.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.statsdto.ViewStats;
+import ru.practicum.statsserver.model.RollupGranularity;
+import ru.practicum.statsserver.model.Stats;
+import ru.practicum.statsserver.util.HyperLogLog;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StatsRollupRepository {
+
+    public static final List<RollupGranularity> COUNTER_GRANULARITIES =
+            List.of(RollupGranularity.DAY, RollupGranularity.HOUR, RollupGranularity.MINUTE);
+    public static final List<RollupGranularity> SKETCH_GRANULARITIES =
+            List.of(RollupGranularity.DAY, RollupGranularity.HOUR);
+
+    private static final String UPSERT_COUNTER_SQL =
+            "INSERT INTO stats_rollup (granularity, bucket_start, app, uri, hits) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (granularity, bucket_start, app, uri) DO UPDATE SET hits = stats_rollup.hits + EXCLUDED.hits";
+
+    private static final String INSERT_SKETCH_SQL =
+            "INSERT INTO stats_rollup_hll (granularity, bucket_start, app, uri, sketch) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String UPDATE_SKETCH_SQL =
+            "UPDATE stats_rollup_hll SET sketch = ? WHERE granularity = ? AND bucket_start = ? AND app = ? AND uri = ?";
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing((RollupKey key) -> key.granularity().name())
+            .thenComparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::app)
+            .thenComparing(RollupKey::uri);
+
+    private static final int REBUILD_FETCH_SIZE = 10_000;
+    private static final List<String> ROLLUP_TABLES = List.of("stats_rollup", "stats_rollup_hll");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void apply(List<Stats> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        Map<RollupKey, Long> counters = new TreeMap<>(KEY_ORDER);
+        for (Stats hit : hits) {
+            for (RollupGranularity granularity : COUNTER_GRANULARITIES) {
+                counters.merge(RollupKey.of(granularity, hit), 1L, Long::sum);
+            }
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_COUNTER_SQL, List.copyOf(counters.entrySet()), counters.size(),
+                (ps, counter) -> {
+                    RollupKey key = counter.getKey();
+                    ps.setString(1, key.granularity().name());
+                    ps.setTimestamp(2, Timestamp.valueOf(key.bucketStart()));
+                    ps.setString(3, key.app());
+                    ps.setString(4, key.uri());
+                    ps.setLong(5, counter.getValue());
+                });
+    }
+
+    public List<ViewStats> getStats(RollupRangePlan plan, List<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> parts = new ArrayList<>();
+        for (RollupRangePlan.BucketRange bucket : plan.buckets()) {
+            int i = parts.size();
+            parts.add("SELECT app, uri, hits FROM stats_rollup WHERE granularity = :g" + i +
+                      " AND bucket_start >= :f" + i + " AND bucket_start < :t" + i + uriFilter(uris));
+            params.addValue("g" + i, bucket.granularity().name())
+                    .addValue("f" + i, bucket.from())
+                    .addValue("t" + i, bucket.to());
+        }
+        for (RollupRangePlan.RawRange range : plan.raw()) {
+            int i = parts.size();
+            parts.add("SELECT app, uri, COUNT(*) AS hits FROM stats WHERE timestamp >= :f" + i +
+                      " AND timestamp < :t" + i + uriFilter(uris) + " GROUP BY app, uri");
+            params.addValue("f" + i, range.from())
+                    .addValue("t" + i, range.to());
+        }
+        return query("SUM(hits)", parts, params, uris);
+    }
+
+    public List<ViewStats> getStatsApproximate(RollupRangePlan plan, List<String> uris) {
+        Map<AppUri, HyperLogLog> sketches = new HashMap<>();
+
+        MapSqlParameterSource bucketParams = new MapSqlParameterSource();
+        List<String> bucketParts = new ArrayList<>();
+        for (RollupRangePlan.BucketRange bucket : plan.buckets()) {
+            int i = bucketParts.size();
+            bucketParts.add("SELECT app, uri, sketch FROM stats_rollup_hll WHERE granularity = :g" + i +
+                            " AND bucket_start >= :f" + i + " AND bucket_start < :t" + i + uriFilter(uris));
+            bucketParams.addValue("g" + i, bucket.granularity().name())
+                    .addValue("f" + i, bucket.from())
+                    .addValue("t" + i, bucket.to());
+        }
+        if (!bucketParts.isEmpty()) {
+            addUris(bucketParams, uris);
+            jdbcTemplate.query(String.join(" UNION ALL ", bucketParts), bucketParams, rs -> {
+                sketches.computeIfAbsent(new AppUri(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(rs.getBytes("sketch")));
+            });
+        }
+
+        MapSqlParameterSource rawParams = new MapSqlParameterSource();
+        List<String> rawParts = new ArrayList<>();
+        for (RollupRangePlan.RawRange range : plan.raw()) {
+            int i = rawParts.size();
+            rawParts.add("SELECT app, uri, ip FROM stats WHERE timestamp >= :f" + i +
+                         " AND timestamp < :t" + i + uriFilter(uris));
+            rawParams.addValue("f" + i, range.from())
+                    .addValue("t" + i, range.to());
+        }
+        if (!rawParts.isEmpty()) {
+            addUris(rawParams, uris);
+            jdbcTemplate.query(String.join(" UNION ", rawParts), rawParams, rs -> {
+                sketches.computeIfAbsent(new AppUri(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .add(rs.getString("ip"));
+            });
+        }
+
+        return sketches.entrySet().stream()
+                .map(entry -> new ViewStats(entry.getKey().app(), entry.getKey().uri(), entry.getValue().estimate()))
+                .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+                .toList();
+    }
+
+    public int deleteBucketsBefore(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", cutoff);
+        int deleted = 0;
+        for (String table : ROLLUP_TABLES) {
+            deleted += jdbcTemplate.update("DELETE FROM " + table + " WHERE bucket_start < :cutoff", params);
+        }
+        return deleted;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE stats IN SHARE MODE");
+        if (isEmpty("stats_rollup")) {
+            rebuildCounters();
+        }
+        if (isEmpty("stats_rollup_hll")) {
+            rebuildSketches();
+        }
+    }
+
+    private boolean isEmpty(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class));
+    }
+
+    private void rebuildCounters() {
+        for (RollupGranularity granularity : COUNTER_GRANULARITIES) {
+            jdbcTemplate.getJdbcTemplate().update(
+                    "INSERT INTO stats_rollup (granularity, bucket_start, app, uri, hits) " +
+                    "SELECT '" + granularity.name() + "', date_trunc('" + granularity.sqlUnit() + "', timestamp), app, uri, COUNT(*) " +
+                    "FROM stats GROUP BY 2, 3, 4");
+        }
+        log.info("Агрегаты статистики перестроены по сырым данным");
+    }
+
+    private void rebuildSketches() {
+        JdbcTemplate streaming = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getJdbcTemplate().getDataSource()));
+        streaming.setFetchSize(REBUILD_FETCH_SIZE);
+        for (RollupGranularity granularity : SKETCH_GRANULARITIES) {
+            Map<RollupKey, HyperLogLog> current = new HashMap<>();
+            streaming.query(
+                    "SELECT date_trunc('" + granularity.sqlUnit() + "', timestamp) AS bucket_start, app, uri, ip " +
+                    "FROM stats GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3",
+                    rs -> {
+                        RollupKey key = new RollupKey(granularity, rs.getTimestamp("bucket_start").toLocalDateTime(),
+                                rs.getString("app"), rs.getString("uri"));
+                        if (!current.containsKey(key)) {
+                            insertSketches(current);
+                            current.clear();
+                        }
+                        current.computeIfAbsent(key, k -> new HyperLogLog()).add(rs.getString("ip"));
+                    });
+            insertSketches(current);
+        }
+        log.info("Скетчи уникальных посетителей перестроены по сырым данным");
+    }
+
+    @Transactional
+    public void mergeSketches(Map<RollupKey, HyperLogLog> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<RollupKey, HyperLogLog> sketches = new TreeMap<>(KEY_ORDER);
+        sketches.putAll(pending);
+        insertSketches(sketches);
+
+        List<Object[]> keys = sketches.keySet().stream()
+                .map(key -> new Object[]{key.granularity().name(), key.bucketStart(), key.app(), key.uri()})
+                .toList();
+        jdbcTemplate.query(
+                "SELECT granularity, bucket_start, app, uri, sketch FROM stats_rollup_hll " +
+                "WHERE (granularity, bucket_start, app, uri) IN (:keys) " +
+                "ORDER BY granularity, bucket_start, app, uri FOR UPDATE",
+                new MapSqlParameterSource("keys", keys),
+                rs -> {
+                    RollupKey key = new RollupKey(RollupGranularity.valueOf(rs.getString("granularity")),
+                            rs.getTimestamp("bucket_start").toLocalDateTime(), rs.getString("app"), rs.getString("uri"));
+                    HyperLogLog sketch = sketches.get(key);
+                    if (sketch != null) {
+                        sketch.merge(HyperLogLog.fromBytes(rs.getBytes("sketch")));
+                    }
+                });
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SKETCH_SQL, List.copyOf(sketches.entrySet()), sketches.size(),
+                (ps, entry) -> {
+                    RollupKey key = entry.getKey();
+                    ps.setBytes(1, entry.getValue().toBytes());
+                    ps.setString(2, key.granularity().name());
+                    ps.setTimestamp(3, Timestamp.valueOf(key.bucketStart()));
+                    ps.setString(4, key.app());
+                    ps.setString(5, key.uri());
+                });
+    }
+
+    private void insertSketches(Map<RollupKey, HyperLogLog> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SKETCH_SQL, List.copyOf(sketches.entrySet()), sketches.size(),
+                (ps, entry) -> {
+                    RollupKey key = entry.getKey();
+                    ps.setString(1, key.granularity().name());
+                    ps.setTimestamp(2, Timestamp.valueOf(key.bucketStart()));
+                    ps.setString(3, key.app());
+                    ps.setString(4, key.uri());
+                    ps.setBytes(5, entry.getValue().toBytes());
+                });
+    }
+
+    private List<ViewStats> query(String aggregate, List<String> parts, MapSqlParameterSource params, List<String> uris) {
+        if (parts.isEmpty()) {
+            return List.of();
+        }
+        addUris(params, uris);
+        String sql = "SELECT app, uri, " + aggregate + " AS hits FROM (" + String.join(" UNION ALL ", parts) + ") t " +
+                     "GROUP BY app, uri ORDER BY hits DESC";
+        return jdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new ViewStats(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+    }
+
+    private void addUris(MapSqlParameterSource params, List<String> uris) {
+        if (uris != null && !uris.isEmpty()) {
+            params.addValue("uris", uris);
+        }
+    }
+
+    private String uriFilter(List<String> uris) {
+        return uris == null || uris.isEmpty() ? "" : " AND uri IN (:uris)";
+    }
+
+    private record AppUri(String app, String uri) {
+    }
+}
@@ -2,15 +2,19 @@ package ru.practicum.statsserver.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.statsdto.EndpointHit;
 import ru.practicum.statsdto.ViewStats;
 import ru.practicum.statsserver.mapper.StatsMapper;
 import ru.practicum.statsserver.model.Stats;
+import ru.practicum.statsserver.repository.RollupRangePlan;
 import ru.practicum.statsserver.repository.StatsRepository;
+import ru.practicum.statsserver.repository.StatsRollupRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -19,20 +23,50 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ServiceImpl implements StatsService {
     private final StatsRepository statsRepository;
+    private final StatsRollupRepository rollupRepository;
     private final StatsMapper statsMapper;
+    private final StatsSketchBuffer sketchBuffer;
+
+    @Value("${stats.rollup.enabled:true}")
+    private boolean rollupEnabled;
 
     @Override
     @Transactional
     public void saveHit(EndpointHit endpointHit) {
         Stats stats = statsMapper.toStats(endpointHit);
         statsRepository.save(stats);
+        rollupRepository.apply(List.of(stats));
+        sketchBuffer.add(List.of(stats));
         log.info("Сохранена информация о посещении: {}", stats);
     }
 
     @Override
-    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique) {
+    @Transactional
+    public void saveHits(List<EndpointHit> endpointHits) {
+        List<Stats> stats = endpointHits.stream()
+                .map(statsMapper::toStats)
+                .toList();
+        statsRepository.insertAll(stats);
+        rollupRepository.apply(stats);
+        sketchBuffer.add(stats);
+        log.info("Сохранено посещений: {}", stats.size());
+    }
+
+    @Override
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                    boolean unique, boolean approximate) {
         validateTimeRange(start, end);
 
+        LocalDateTime endExclusive = end.plus(1, ChronoUnit.MICROS);
+        if (isApproximate(unique, approximate)) {
+            RollupRangePlan plan = RollupRangePlan.of(start, endExclusive, StatsRollupRepository.SKETCH_GRANULARITIES);
+            return rollupRepository.getStatsApproximate(plan, uris);
+        }
+        if (rollupEnabled && !unique) {
+            RollupRangePlan plan = RollupRangePlan.of(start, endExclusive, StatsRollupRepository.COUNTER_GRANULARITIES);
+            return rollupRepository.getStats(plan, uris);
+        }
+
         if (unique) {
             return statsRepository.getStatsUnique(start, end, uris);
         } else {
@@ -40,6 +74,11 @@ public class ServiceImpl implements StatsService {
         }
     }
 
+    @Override
+    public boolean isApproximate(boolean unique, boolean approximate) {
+        return rollupEnabled && unique && approximate;
+    }
+
     private void validateTimeRange(LocalDateTime start, LocalDateTime end) {
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Дата начала не может быть позже даты окончания");
@@ -0,0 +1,107 @@
+package ru.practicum.statsserver.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.statsserver.repository.StatsRollupRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatsPartitionManager {
+
+    private static final String TABLE = "stats";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatsRollupRepository rollupRepository;
+
+    @Value("${stats.partitions.premake-days:7}")
+    private int premakeDays;
+
+    @Value("${stats.retention.days:365}")
+    private int retentionDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.partitions.maintenance-cron:0 5 * * * *}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        pruneRollups(today.minusDays(retentionDays));
+        if (!isPartitioned()) {
+            log.warn("Таблица {} не секционирована, обслуживание секций пропущено", TABLE);
+            return;
+        }
+        createPartitions(today);
+        dropExpiredPartitions(today.minusDays(retentionDays));
+    }
+
+    private void pruneRollups(LocalDate cutoff) {
+        int deleted = rollupRepository.deleteBucketsBefore(cutoff.atStartOfDay());
+        if (deleted > 0) {
+            log.info("Из агрегатов статистики удалено устаревших записей: {}", deleted);
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ? AND pg_table_is_visible(c.oid))", Boolean.class, TABLE));
+    }
+
+    private void createPartitions(LocalDate today) {
+        for (int i = 0; i <= premakeDays; i++) {
+            LocalDate day = today.plusDays(i);
+            String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE +
+                                     " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+            } catch (DataAccessException e) {
+                log.warn("Не удалось создать секцию {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void dropExpiredPartitions(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ?", String.class, TABLE);
+
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            LocalDate day;
+            try {
+                day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (!day.plusDays(1).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Удалена устаревшая секция {}", partition);
+            }
+        }
+
+        int deleted = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < ?",
+                Timestamp.valueOf(cutoff.atStartOfDay()));
+        if (deleted > 0) {
+            log.info("Из секции {} удалено устаревших посещений: {}", DEFAULT_PARTITION, deleted);
+        }
+    }
+}
@@ -9,5 +9,9 @@ import java.util.List;
 public interface StatsService {
     void saveHit(EndpointHit endpointHit);
 
-    List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique);
+    void saveHits(List<EndpointHit> endpointHits);
+
+    List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique, boolean approximate);
+
+    boolean isApproximate(boolean unique, boolean approximate);
 }
\ No newline at end of file
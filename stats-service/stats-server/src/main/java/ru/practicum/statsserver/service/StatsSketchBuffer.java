@@ -0,0 +1,76 @@
+package ru.practicum.statsserver.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.statsserver.model.RollupGranularity;
+import ru.practicum.statsserver.model.Stats;
+import ru.practicum.statsserver.repository.RollupKey;
+import ru.practicum.statsserver.repository.StatsRollupRepository;
+import ru.practicum.statsserver.util.HyperLogLog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatsSketchBuffer {
+
+    private final StatsRollupRepository rollupRepository;
+
+    private final Object lock = new Object();
+    private Map<RollupKey, HyperLogLog> pending = new HashMap<>();
+
+    public void add(List<Stats> hits) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(hits);
+                }
+            });
+        } else {
+            buffer(hits);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${stats.rollup.sketch-flush-ms:5000}")
+    public void flush() {
+        Map<RollupKey, HyperLogLog> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            rollupRepository.mergeSketches(batch);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить скетчи уникальных посетителей: {}", e.getMessage());
+            synchronized (lock) {
+                batch.forEach((key, sketch) -> pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    private void buffer(List<Stats> hits) {
+        synchronized (lock) {
+            for (Stats hit : hits) {
+                for (RollupGranularity granularity : StatsRollupRepository.SKETCH_GRANULARITIES) {
+                    pending.computeIfAbsent(RollupKey.of(granularity, hit), key -> new HyperLogLog()).add(hit.getIp());
+                }
+            }
+        }
+    }
+}
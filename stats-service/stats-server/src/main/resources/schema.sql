@@ -1,11 +1,67 @@
-CREATE TABLE IF NOT EXISTS hits (
-    id BIGSERIAL PRIMARY KEY,
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c
+               WHERE c.relname = 'stats' AND c.relkind = 'r' AND pg_table_is_visible(c.oid)) THEN
+        ALTER TABLE stats RENAME TO stats_legacy;
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = 'stats_pkey' AND conrelid = 'stats_legacy'::regclass) THEN
+            ALTER TABLE stats_legacy RENAME CONSTRAINT stats_pkey TO stats_legacy_pkey;
+        END IF;
+        ALTER INDEX IF EXISTS idx_stats_timestamp RENAME TO idx_stats_legacy_timestamp;
+        ALTER INDEX IF EXISTS idx_stats_uri_timestamp RENAME TO idx_stats_legacy_uri_timestamp;
+        ALTER SEQUENCE IF EXISTS stats_id_seq RENAME TO stats_legacy_id_seq;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS stats (
+    id BIGSERIAL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(512) NOT NULL,
+    ip VARCHAR(45) NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE IF NOT EXISTS stats_default PARTITION OF stats DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_stats_timestamp ON stats (timestamp);
+CREATE INDEX IF NOT EXISTS idx_stats_uri_timestamp ON stats (uri, timestamp);
+
+DO $$
+DECLARE
+    legacy_day DATE;
+BEGIN
+    IF to_regclass('stats_legacy') IS NOT NULL THEN
+        FOR legacy_day IN SELECT DISTINCT timestamp::date FROM stats_legacy LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF stats FOR VALUES FROM (%L) TO (%L)',
+                           'stats_p' || to_char(legacy_day, 'YYYYMMDD'), legacy_day, legacy_day + 1);
+        END LOOP;
+        INSERT INTO stats (app, uri, ip, timestamp)
+        SELECT app, uri, ip, timestamp FROM stats_legacy;
+        DROP TABLE stats_legacy;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(512) NOT NULL,
+    hits BIGINT NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stats_rollup_uri ON stats_rollup (granularity, uri, bucket_start);
+
+DROP TABLE IF EXISTS stats_rollup_ip;
+
+CREATE TABLE IF NOT EXISTS stats_rollup_hll (
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     app VARCHAR(255) NOT NULL,
-    uri VARCHAR(2048) NOT NULL,
-    ip VARCHAR(64) NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+    uri VARCHAR(512) NOT NULL,
+    sketch BYTEA NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, app, uri)
 );
 
-CREATE INDEX IF NOT EXISTS idx_hits_uri ON hits (uri);
-CREATE INDEX IF NOT EXISTS idx_hits_created ON hits (created);
-CREATE INDEX IF NOT EXISTS idx_hits_uri_created ON hits (uri, created);
+CREATE INDEX IF NOT EXISTS idx_stats_rollup_hll_uri ON stats_rollup_hll (granularity, uri, bucket_start);
@@ -0,0 +1,119 @@
+package ru.practicum.statsserver.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.statsdto.EndpointHit;
+import ru.practicum.statsdto.ViewStats;
+import ru.practicum.statsserver.util.HyperLogLog;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ApproximateUniqueBenchmarkTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String APP = "ewm-main-service";
+    private static final int URIS = 5;
+    private static final int HITS_PER_URI = 20_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int DAYS = 10;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final double MAX_ERROR = 4 * HyperLogLog.standardError();
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private StatsSketchBuffer sketchBuffer;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void approximateUniqueViewsAgainstExactPath() {
+        String prefix = "/events/" + UUID.randomUUID() + "/";
+        LocalDateTime end = LocalDateTime.now().withNano(0);
+        LocalDateTime start = end.minusDays(DAYS);
+        List<String> uris = IntStream.range(0, URIS).mapToObj(i -> prefix + i).toList();
+
+        Map<String, Long> expected = new HashMap<>();
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < URIS; i++) {
+            int distinctIps = (i + 1) * HITS_PER_URI / (URIS + 1);
+            expected.put(uris.get(i), (long) distinctIps);
+            for (int j = 0; j < HITS_PER_URI; j++) {
+                hits.add(new EndpointHit(null, APP, uris.get(i), ip(j % distinctIps),
+                        start.plusSeconds((long) j * DAYS * 86_400 / HITS_PER_URI)));
+            }
+        }
+
+        long ingestStarted = System.nanoTime();
+        for (int i = 0; i < hits.size(); i += BATCH_SIZE) {
+            statsService.saveHits(hits.subList(i, Math.min(i + BATCH_SIZE, hits.size())));
+        }
+        sketchBuffer.flush();
+        long ingestMs = (System.nanoTime() - ingestStarted) / 1_000_000;
+        log.info("Загружено {} хитов за {} мс", hits.size(), ingestMs);
+
+        Map<String, Long> exact = measure("точный", () -> statsService.getStats(start, end, uris, true, false));
+        Map<String, Long> approximate = measure("приближённый", () -> statsService.getStats(start, end, uris, true, true));
+
+        assertEquals(expected, exact);
+        for (String uri : uris) {
+            double error = Math.abs(approximate.get(uri) - expected.get(uri)) / (double) expected.get(uri);
+            log.info("{}: точно {}, оценка {}, ошибка {}%", uri, expected.get(uri), approximate.get(uri),
+                    String.format("%.2f", error * 100));
+            assertTrue(error <= MAX_ERROR, uri + " error " + error + " exceeds " + MAX_ERROR);
+        }
+    }
+
+    private Map<String, Long> measure(String mode, Supplier<List<ViewStats>> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        long[] timings = new long[MEASURED_RUNS];
+        List<ViewStats> result = List.of();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            result = query.get();
+            timings[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(timings);
+        log.info("Запрос уникальных просмотров, {} режим: медиана {} мкс, максимум {} мкс",
+                mode, timings[MEASURED_RUNS / 2] / 1000, timings[MEASURED_RUNS - 1] / 1000);
+        return result.stream().collect(Collectors.toMap(ViewStats::getUri, ViewStats::getHits));
+    }
+
+    private static String ip(int n) {
+        return "10." + (n >> 16 & 0xff) + "." + (n >> 8 & 0xff) + "." + (n & 0xff);
+    }
+}